@@ -19,6 +19,13 @@ CREATE INDEX IF NOT EXISTS idx_employees_email ON employees(email);
 CREATE INDEX IF NOT EXISTS idx_payroll_employee ON payroll(employee_id);
 CREATE INDEX IF NOT EXISTS idx_payroll_period ON payroll(pay_period_start, pay_period_end);
 CREATE INDEX IF NOT EXISTS idx_payroll_status ON payroll(payment_status);
+-- Indexes backing keyset pagination of the employee and payroll lists
+CREATE INDEX IF NOT EXISTS idx_emp_status_name ON employees(employment_status, first_name, last_name, employee_id);
+CREATE INDEX IF NOT EXISTS idx_payroll_end_id ON payroll(pay_period_end, payroll_id);
+-- Indexes backing employee and department search
+CREATE INDEX IF NOT EXISTS idx_emp_last_name ON employees(last_name);
+CREATE FULLTEXT INDEX IF NOT EXISTS ft_emp_search ON employees(employee_code, first_name, last_name, email, position);
+CREATE FULLTEXT INDEX IF NOT EXISTS ft_dept_search ON departments(department_name, department_code);
 
 -- Fix 3: Ensure proper decimal precision for salary fields
 ALTER TABLE employees MODIFY COLUMN base_salary DECIMAL(12,2) NOT NULL DEFAULT 0.00;
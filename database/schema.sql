@@ -34,7 +34,8 @@ CREATE TABLE departments (
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
     is_active BOOLEAN DEFAULT TRUE,
     INDEX idx_dept_code (department_code),
-    INDEX idx_dept_active (is_active)
+    INDEX idx_dept_active (is_active),
+    FULLTEXT INDEX ft_dept_search (department_name, department_code)
 ) ENGINE=InnoDB;
 
 -- Employees table
@@ -59,6 +60,9 @@ CREATE TABLE employees (
     INDEX idx_emp_status (employment_status),
     INDEX idx_emp_dept (department_id),
     INDEX idx_emp_name (first_name, last_name),
+    INDEX idx_emp_status_name (employment_status, first_name, last_name, employee_id),
+    INDEX idx_emp_last_name (last_name),
+    FULLTEXT INDEX ft_emp_search (employee_code, first_name, last_name, email, position),
     CONSTRAINT fk_emp_department 
         FOREIGN KEY (department_id) REFERENCES departments(department_id)
         ON DELETE SET NULL ON UPDATE CASCADE
@@ -90,6 +94,7 @@ CREATE TABLE payroll (
     INDEX idx_payroll_employee (employee_id),
     INDEX idx_payroll_period (pay_period_start, pay_period_end),
     INDEX idx_payroll_status (payment_status),
+    INDEX idx_payroll_end_id (pay_period_end, payroll_id),
     INDEX idx_payroll_created_by (created_by),
     CONSTRAINT fk_payroll_employee 
         FOREIGN KEY (employee_id) REFERENCES employees(employee_id)
@@ -13,6 +13,33 @@ public class DatabaseConfig {
     // Connection pool settings
     public static final int MAX_CONNECTIONS = 10;
     public static final int CONNECTION_TIMEOUT = 30000; // 30 seconds
+    public static final long IDLE_TIMEOUT = 600000; // 10 minutes
+    public static final long VALIDATION_INTERVAL = 60000; // 1 minute
+    public static final int STATEMENT_CACHE_SIZE = 50; // Prepared statements per connection
+    public static final int PAYROLL_BATCH_SIZE = 500; // Rows per JDBC batch for bulk payroll inserts
+    public static final int STREAM_FETCH_SIZE = 1000; // Rows per round trip for streamed reads
+    
+    // Cache settings
+    public static final long DEPARTMENT_CACHE_TTL = 300000; // 5 minutes, picks up changes made outside this application
+    public static final int EMPLOYEE_CACHE_CAPACITY = 1000; // Employees kept in memory for lookups by ID or code
+    public static final int REPORT_CACHE_CAPACITY = 50; // Report query results kept per DAO
+    public static final long REPORT_CACHE_TTL = 300000; // 5 minutes
+    
+    // Search settings
+    public static final int SEARCH_RESULT_LIMIT = 200; // Maximum rows returned by a search
+    public static final int FULLTEXT_MIN_TOKEN_LENGTH = 3; // Must match innodb_ft_min_token_size on the server
+    public static final int SEARCH_DEBOUNCE_DELAY = 200; // Milliseconds of typing pause before a table filter runs
+    
+    // Table paging settings
+    public static final int TABLE_WINDOW_SIZE = 200; // Rows fetched per query as a table scrolls
+    public static final int TABLE_WINDOW_CACHE_SIZE = 20; // Windows kept in memory per table
+    public static final long TABLE_WINDOW_RETRY_DELAY = 1000; // First retry of a failed window load, doubled per failure
+    public static final long TABLE_WINDOW_MAX_RETRY_DELAY = 30000; // Longest wait between retries of a window
+    
+    // Payroll run settings
+    public static final int PAYROLL_RUN_CHUNK_SIZE = 1000; // Payroll records saved per transaction by a payroll run
+    public static final double PAYROLL_TAX_RATE = 0.15; // Share of gross salary withheld as tax
+    public static final double PAYROLL_INSURANCE_RATE = 0.05; // Share of gross salary withheld for insurance
     
     // Application settings
     public static final String APP_NAME = "Payroll Management System";
@@ -0,0 +1,52 @@
+package dao;
+
+import models.Department;
+import models.DepartmentStatistics;
+import utils.DatabaseExecutor;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking front end for {@link DepartmentDAO}.
+ * Each call runs on {@link DatabaseExecutor}; chain UI updates with
+ * thenAcceptAsync(..., DatabaseExecutor.EDT).
+ */
+public class AsyncDepartmentDAO {
+    private final DepartmentDAO departmentDAO;
+    
+    public AsyncDepartmentDAO() {
+        this(new DepartmentDAO());
+    }
+    
+    public AsyncDepartmentDAO(DepartmentDAO departmentDAO) {
+        this.departmentDAO = departmentDAO;
+    }
+    
+    public CompletableFuture<Boolean> createDepartment(Department department) {
+        return DatabaseExecutor.supply(() -> departmentDAO.createDepartment(department));
+    }
+    
+    public CompletableFuture<Boolean> updateDepartment(Department department) {
+        return DatabaseExecutor.supply(() -> departmentDAO.updateDepartment(department));
+    }
+    
+    public CompletableFuture<Boolean> deleteDepartment(int departmentId) {
+        return DatabaseExecutor.supply(() -> departmentDAO.deleteDepartment(departmentId));
+    }
+    
+    public CompletableFuture<Department> getDepartmentById(int departmentId) {
+        return DatabaseExecutor.supply(() -> departmentDAO.getDepartmentById(departmentId));
+    }
+    
+    public CompletableFuture<List<Department>> getAllDepartments() {
+        return DatabaseExecutor.supply(departmentDAO::getAllDepartments);
+    }
+    
+    public CompletableFuture<List<Department>> searchDepartments(String searchTerm) {
+        return DatabaseExecutor.supply(() -> departmentDAO.searchDepartments(searchTerm));
+    }
+    
+    public CompletableFuture<List<DepartmentStatistics>> getDepartmentStatistics() {
+        return DatabaseExecutor.supply(departmentDAO::getDepartmentStatistics);
+    }
+}
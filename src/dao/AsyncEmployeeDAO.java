@@ -0,0 +1,64 @@
+package dao;
+
+import models.Employee;
+import models.EmployeeSummary;
+import utils.DatabaseExecutor;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking front end for {@link EmployeeDAO}.
+ * Each call runs on {@link DatabaseExecutor}; chain UI updates with
+ * thenAcceptAsync(..., DatabaseExecutor.EDT).
+ */
+public class AsyncEmployeeDAO {
+    private final EmployeeDAO employeeDAO;
+    
+    public AsyncEmployeeDAO() {
+        this(new EmployeeDAO());
+    }
+    
+    public AsyncEmployeeDAO(EmployeeDAO employeeDAO) {
+        this.employeeDAO = employeeDAO;
+    }
+    
+    public CompletableFuture<Boolean> createEmployee(Employee employee) {
+        return DatabaseExecutor.supply(() -> employeeDAO.createEmployee(employee));
+    }
+    
+    public CompletableFuture<Boolean> updateEmployee(Employee employee) {
+        return DatabaseExecutor.supply(() -> employeeDAO.updateEmployee(employee));
+    }
+    
+    public CompletableFuture<Boolean> deleteEmployee(int employeeId) {
+        return DatabaseExecutor.supply(() -> employeeDAO.deleteEmployee(employeeId));
+    }
+    
+    public CompletableFuture<Employee> getEmployeeById(int employeeId) {
+        return DatabaseExecutor.supply(() -> employeeDAO.getEmployeeById(employeeId));
+    }
+    
+    public CompletableFuture<Employee> getEmployeeByCode(String employeeCode) {
+        return DatabaseExecutor.supply(() -> employeeDAO.getEmployeeByCode(employeeCode));
+    }
+    
+    public CompletableFuture<List<Employee>> getAllEmployees() {
+        return DatabaseExecutor.supply(employeeDAO::getAllEmployees);
+    }
+    
+    public CompletableFuture<List<EmployeeSummary>> getAllEmployeeSummaries() {
+        return DatabaseExecutor.supply(employeeDAO::getAllEmployeeSummaries);
+    }
+    
+    public CompletableFuture<List<Employee>> searchEmployees(String searchTerm) {
+        return DatabaseExecutor.supply(() -> employeeDAO.searchEmployees(searchTerm));
+    }
+    
+    public CompletableFuture<List<Employee>> getEmployeesByDepartment(int departmentId) {
+        return DatabaseExecutor.supply(() -> employeeDAO.getEmployeesByDepartment(departmentId));
+    }
+    
+    public CompletableFuture<int[]> getEmployeeStatistics() {
+        return DatabaseExecutor.supply(employeeDAO::getEmployeeStatistics);
+    }
+}
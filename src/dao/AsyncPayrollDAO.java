@@ -0,0 +1,87 @@
+package dao;
+
+import models.Payroll;
+import models.PayrollStatistics;
+import models.PayrollSummary;
+import utils.DatabaseExecutor;
+import utils.PayrollColumnStore;
+import java.sql.Date;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking front end for {@link PayrollDAO}.
+ * Each call runs on {@link DatabaseExecutor}; chain UI updates with
+ * thenAcceptAsync(..., DatabaseExecutor.EDT).
+ */
+public class AsyncPayrollDAO {
+    private final PayrollDAO payrollDAO;
+    
+    public AsyncPayrollDAO() {
+        this(new PayrollDAO());
+    }
+    
+    public AsyncPayrollDAO(PayrollDAO payrollDAO) {
+        this.payrollDAO = payrollDAO;
+    }
+    
+    public CompletableFuture<Boolean> createPayroll(Payroll payroll) {
+        return DatabaseExecutor.supply(() -> payrollDAO.createPayroll(payroll));
+    }
+    
+    public CompletableFuture<PayrollDAO.BatchResult> createPayrolls(List<Payroll> payrolls) {
+        return DatabaseExecutor.supply(() -> payrollDAO.createPayrolls(payrolls));
+    }
+    
+    public CompletableFuture<Boolean> updatePayroll(Payroll payroll) {
+        return DatabaseExecutor.supply(() -> payrollDAO.updatePayroll(payroll));
+    }
+    
+    public CompletableFuture<Boolean> deletePayroll(int payrollId) {
+        return DatabaseExecutor.supply(() -> payrollDAO.deletePayroll(payrollId));
+    }
+    
+    public CompletableFuture<Payroll> getPayrollById(int payrollId) {
+        return DatabaseExecutor.supply(() -> payrollDAO.getPayrollById(payrollId));
+    }
+    
+    public CompletableFuture<List<Payroll>> getAllPayrolls() {
+        return DatabaseExecutor.supply(payrollDAO::getAllPayrolls);
+    }
+    
+    public CompletableFuture<List<PayrollSummary>> getAllPayrollSummaries() {
+        return DatabaseExecutor.supply(payrollDAO::getAllPayrollSummaries);
+    }
+    
+    public CompletableFuture<List<Payroll>> getPayrollsByEmployee(int employeeId) {
+        return DatabaseExecutor.supply(() -> payrollDAO.getPayrollsByEmployee(employeeId));
+    }
+    
+    public CompletableFuture<List<Payroll>> getPayrollsByDateRange(Date startDate, Date endDate) {
+        return DatabaseExecutor.supply(() -> payrollDAO.getPayrollsByDateRange(startDate, endDate));
+    }
+    
+    public CompletableFuture<List<Payroll>> getPayrollsByStatus(Payroll.PaymentStatus status) {
+        return DatabaseExecutor.supply(() -> payrollDAO.getPayrollsByStatus(status));
+    }
+    
+    public CompletableFuture<Integer> updatePaymentStatus(Collection<Integer> payrollIds,
+                                                          Payroll.PaymentStatus fromStatus,
+                                                          Payroll.PaymentStatus toStatus, Date paymentDate) {
+        return DatabaseExecutor.supply(() -> payrollDAO.updatePaymentStatus(payrollIds, fromStatus, toStatus, paymentDate));
+    }
+    
+    public CompletableFuture<Integer> loadPayrollColumns(PayrollColumnStore store) {
+        return DatabaseExecutor.supply(() -> payrollDAO.loadPayrollColumns(store));
+    }
+    
+    public CompletableFuture<PayrollStatistics> getPayrollStatistics() {
+        return DatabaseExecutor.supply(() -> payrollDAO.getPayrollStatistics());
+    }
+    
+    public CompletableFuture<PayrollStatistics> getPayrollStatistics(Date startDate, Date endDate,
+                                                                     Integer departmentId) {
+        return DatabaseExecutor.supply(() -> payrollDAO.getPayrollStatistics(startDate, endDate, departmentId));
+    }
+}
@@ -1,15 +1,34 @@
 package dao;
 
+import config.DatabaseConfig;
 import models.Department;
+import models.DepartmentStatistics;
+import utils.CacheStatistics;
 import utils.DatabaseConnection;
+import utils.QueryResultCache;
+import utils.SearchQueries;
+import utils.TableVersions;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
- * Data Access Object for Department operations
+ * Data Access Object for Department operations.
+ * The active department list is cached in memory and shared by all instances; it is dropped
+ * whenever a department is created, updated or deleted, and reloaded after DEPARTMENT_CACHE_TTL.
  */
 public class DepartmentDAO {
+    private static final Object cacheLock = new Object();
+    private static final CacheStatistics cacheStatistics = new CacheStatistics();
+    private static List<Department> cachedDepartments;
+    private static long cacheLoadedAt;
+    private static long cacheGeneration;
+    
+    // Report query results, dropped automatically when the departments or employees tables change
+    private static final QueryResultCache reportCache =
+        new QueryResultCache(DatabaseConfig.REPORT_CACHE_CAPACITY, DatabaseConfig.REPORT_CACHE_TTL);
+    private static final String[] REPORT_TABLES = { TableVersions.DEPARTMENTS, TableVersions.EMPLOYEES };
     
     /**
      * Create a new department
@@ -35,6 +54,7 @@ public class DepartmentDAO {
                 if (generatedKeys.next()) {
                     department.setDepartmentId(generatedKeys.getInt(1));
                 }
+                invalidateCache();
                 return true;
             }
             
@@ -63,7 +83,12 @@ public class DepartmentDAO {
             stmt.setBoolean(5, department.isActive());
             stmt.setInt(6, department.getDepartmentId());
             
-            return stmt.executeUpdate() > 0;
+            boolean updated = stmt.executeUpdate() > 0;
+            if (updated) {
+                invalidateCache();
+                EmployeeDAO.invalidateCache(); // Cached employees carry the department name
+            }
+            return updated;
             
         } catch (SQLException e) {
             System.err.println("Error updating department: " + e.getMessage());
@@ -84,7 +109,11 @@ public class DepartmentDAO {
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
             stmt.setInt(1, departmentId);
-            return stmt.executeUpdate() > 0;
+            boolean deleted = stmt.executeUpdate() > 0;
+            if (deleted) {
+                invalidateCache();
+            }
+            return deleted;
             
         } catch (SQLException e) {
             System.err.println("Error deleting department: " + e.getMessage());
@@ -99,6 +128,18 @@ public class DepartmentDAO {
      * @return Department object if found, null otherwise
      */
     public Department getDepartmentById(int departmentId) {
+        synchronized (cacheLock) {
+            if (isCacheFresh()) {
+                for (Department department : cachedDepartments) {
+                    if (department.getDepartmentId() == departmentId) {
+                        cacheStatistics.recordHit();
+                        return new Department(department);
+                    }
+                }
+            }
+            cacheStatistics.recordMiss();
+        }
+        
         String sql = "SELECT * FROM departments WHERE department_id = ?";
         
         try (Connection conn = DatabaseConnection.getConnection();
@@ -119,10 +160,20 @@ public class DepartmentDAO {
     }
     
     /**
-     * Get all active departments
+     * Get all active departments, served from the department cache when it is fresh
      * @return List of active departments
      */
     public List<Department> getAllDepartments() {
+        long generation;
+        synchronized (cacheLock) {
+            if (isCacheFresh()) {
+                cacheStatistics.recordHit();
+                return copyOf(cachedDepartments);
+            }
+            cacheStatistics.recordMiss();
+            generation = cacheGeneration;
+        }
+        
         List<Department> departments = new ArrayList<>();
         String sql = "SELECT * FROM departments WHERE is_active = TRUE ORDER BY department_name";
         
@@ -136,32 +187,103 @@ public class DepartmentDAO {
             
         } catch (SQLException e) {
             System.err.println("Error getting all departments: " + e.getMessage());
+            return departments;
+        }
+        
+        synchronized (cacheLock) {
+            // Skip caching if a write invalidated the cache while this load was running
+            if (generation == cacheGeneration) {
+                cachedDepartments = copyOf(departments);
+                cacheLoadedAt = System.currentTimeMillis();
+            }
         }
         
         return departments;
     }
     
     /**
-     * Search departments by name or code
+     * Search active departments by name or code, returning at most SEARCH_RESULT_LIMIT matches
      * @param searchTerm Search term
-     * @return List of matching departments
+     * @return List of matching departments, best matches first
      */
     public List<Department> searchDepartments(String searchTerm) {
+        return searchDepartments(searchTerm, DatabaseConfig.SEARCH_RESULT_LIMIT);
+    }
+    
+    /**
+     * Search active departments using the indexes instead of scanning the table.
+     * An exact department code is looked up directly; otherwise every word of the term must
+     * prefix-match the name or code (FULLTEXT index), ranked by relevance. Words too short for the
+     * FULLTEXT index must start a word of the name or the code, and terms with no longer word fall
+     * back to a prefix match on name and code.
+     * @param searchTerm Search term
+     * @param limit Maximum number of results
+     * @return List of matching departments, best matches first
+     */
+    public List<Department> searchDepartments(String searchTerm, int limit) {
         List<Department> departments = new ArrayList<>();
-        String sql = "SELECT * FROM departments WHERE is_active = TRUE AND " +
-                    "(department_name LIKE ? OR department_code LIKE ?) ORDER BY department_name";
+        String term = searchTerm != null ? searchTerm.trim() : "";
+        if (term.isEmpty() || limit <= 0) {
+            return departments;
+        }
         
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            String searchPattern = "%" + searchTerm + "%";
-            stmt.setString(1, searchPattern);
-            stmt.setString(2, searchPattern);
+        String exactSql = "SELECT * FROM departments WHERE is_active = TRUE AND department_code = ?";
+        // Words too short for the FULLTEXT index are still required, as the start of a word of the name or code
+        List<String> shortWords = SearchQueries.toShortWords(term);
+        StringBuilder shortWordConditions = new StringBuilder();
+        for (int i = 0; i < shortWords.size(); i++) {
+            shortWordConditions.append("AND (department_name LIKE ? OR department_name LIKE ? OR department_code LIKE ?) ");
+        }
+        String fullTextSql = "SELECT *, MATCH(department_name, department_code) AGAINST (? IN BOOLEAN MODE) as relevance " +
+                    "FROM departments WHERE is_active = TRUE AND " +
+                    "MATCH(department_name, department_code) AGAINST (? IN BOOLEAN MODE) " +
+                    shortWordConditions +
+                    "ORDER BY relevance DESC, department_name LIMIT ?";
+        String prefixSql = "SELECT * FROM departments WHERE is_active = TRUE AND " +
+                    "(department_name LIKE ? OR department_code LIKE ?) ORDER BY department_name LIMIT ?";
+        
+        try (Connection conn = DatabaseConnection.getConnection()) {
             
-            ResultSet rs = stmt.executeQuery();
+            try (PreparedStatement stmt = conn.prepareStatement(exactSql)) {
+                stmt.setString(1, term);
+                ResultSet rs = stmt.executeQuery();
+                while (rs.next()) {
+                    departments.add(mapResultSetToDepartment(rs));
+                }
+            }
+            if (!departments.isEmpty()) {
+                return departments;
+            }
             
-            while (rs.next()) {
-                departments.add(mapResultSetToDepartment(rs));
+            String booleanQuery = SearchQueries.toBooleanPrefixQuery(term);
+            if (booleanQuery != null) {
+                try (PreparedStatement stmt = conn.prepareStatement(fullTextSql)) {
+                    int index = 1;
+                    stmt.setString(index++, booleanQuery);
+                    stmt.setString(index++, booleanQuery);
+                    for (String word : shortWords) {
+                        String prefixPattern = SearchQueries.toPrefixPattern(word);
+                        stmt.setString(index++, prefixPattern);
+                        stmt.setString(index++, "% " + prefixPattern);
+                        stmt.setString(index++, prefixPattern);
+                    }
+                    stmt.setInt(index, limit);
+                    ResultSet rs = stmt.executeQuery();
+                    while (rs.next()) {
+                        departments.add(mapResultSetToDepartment(rs));
+                    }
+                }
+            } else {
+                try (PreparedStatement stmt = conn.prepareStatement(prefixSql)) {
+                    String prefixPattern = SearchQueries.toPrefixPattern(term);
+                    stmt.setString(1, prefixPattern);
+                    stmt.setString(2, prefixPattern);
+                    stmt.setInt(3, limit);
+                    ResultSet rs = stmt.executeQuery();
+                    while (rs.next()) {
+                        departments.add(mapResultSetToDepartment(rs));
+                    }
+                }
             }
             
         } catch (SQLException e) {
@@ -223,6 +345,94 @@ public class DepartmentDAO {
         return 0;
     }
     
+    /**
+     * Get headcount, salary total and budget utilization for every active department in one query
+     * @return List of department statistics ordered by department name, served from the report cache when
+     *         the department and employee tables have not changed; the list must not be modified
+     */
+    public List<DepartmentStatistics> getDepartmentStatistics() {
+        List<DepartmentStatistics> statistics = reportCache.get("departmentStatistics", Collections.emptyList(),
+                                                                REPORT_TABLES, this::loadDepartmentStatistics);
+        return statistics != null ? statistics : Collections.<DepartmentStatistics>emptyList();
+    }
+    
+    /**
+     * @return Department statistics, or null if the query failed so the failure is not cached
+     */
+    private List<DepartmentStatistics> loadDepartmentStatistics() {
+        List<DepartmentStatistics> statistics = new ArrayList<>();
+        String sql = "SELECT d.*, COUNT(e.employee_id) as employee_count, " +
+                    "COALESCE(SUM(e.base_salary), 0) as total_salary, " +
+                    "ROUND(COALESCE(SUM(e.base_salary), 0) * 100 / NULLIF(d.budget, 0), 1) as budget_utilization " +
+                    "FROM departments d " +
+                    "LEFT JOIN employees e ON e.department_id = d.department_id AND e.employment_status = 'ACTIVE' " +
+                    "WHERE d.is_active = TRUE " +
+                    "GROUP BY d.department_id " +
+                    "ORDER BY d.department_name";
+        
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            
+            while (rs.next()) {
+                statistics.add(new DepartmentStatistics(mapResultSetToDepartment(rs),
+                                                        rs.getInt("employee_count"),
+                                                        rs.getBigDecimal("total_salary"),
+                                                        rs.getBigDecimal("budget_utilization")));
+            }
+            
+        } catch (SQLException e) {
+            System.err.println("Error getting department statistics: " + e.getMessage());
+            return null;
+        }
+        
+        return Collections.unmodifiableList(statistics);
+    }
+    
+    /**
+     * Drop the cached department list so the next read goes to the database
+     */
+    public static void invalidateCache() {
+        synchronized (cacheLock) {
+            if (cachedDepartments != null) {
+                cacheStatistics.recordEviction();
+            }
+            cachedDepartments = null;
+            cacheGeneration++;
+        }
+        TableVersions.bump(TableVersions.DEPARTMENTS);
+    }
+    
+    /**
+     * @return Hit, miss and eviction counts of the department cache
+     */
+    public static CacheStatistics getCacheStatistics() {
+        return cacheStatistics;
+    }
+    
+    private static boolean isCacheFresh() {
+        if (cachedDepartments == null) {
+            return false;
+        }
+        if (System.currentTimeMillis() - cacheLoadedAt > DatabaseConfig.DEPARTMENT_CACHE_TTL) {
+            cachedDepartments = null;
+            cacheStatistics.recordEviction();
+            return false;
+        }
+        return true;
+    }
+    
+    /**
+     * Callers may edit the departments they get back, so the cache never shares instances
+     */
+    private static List<Department> copyOf(List<Department> departments) {
+        List<Department> copies = new ArrayList<>(departments.size());
+        for (Department department : departments) {
+            copies.add(new Department(department));
+        }
+        return copies;
+    }
+    
     /**
      * Map ResultSet to Department object
      * @param rs ResultSet
@@ -1,15 +1,34 @@
 package dao;
 
+import config.DatabaseConfig;
 import models.Employee;
+import models.EmployeeSummary;
+import utils.CacheStatistics;
 import utils.DatabaseConnection;
+import utils.LruCache;
+import utils.SearchQueries;
+import utils.TableVersions;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * Data Access Object for Employee operations
+ * Data Access Object for Employee operations.
+ * Single-employee lookups by ID or code go through an LRU cache shared by all instances;
+ * every write through this class drops the affected employee from it.
  */
 public class EmployeeDAO {
+    private static final Map<String, Integer> idsByCode = new ConcurrentHashMap<>();
+    private static final LruCache<Integer, Employee> employeeCache =
+        new LruCache<>(DatabaseConfig.EMPLOYEE_CACHE_CAPACITY,
+                       (id, employee) -> idsByCode.remove(employee.getEmployeeCode(), id));
+    private static final AtomicLong writeGeneration = new AtomicLong();
     
     /**
      * Create a new employee
@@ -44,6 +63,7 @@ public class EmployeeDAO {
                 if (generatedKeys.next()) {
                     employee.setEmployeeId(generatedKeys.getInt(1));
                 }
+                employee.markClean();
                 return true;
             }
             
@@ -51,44 +71,71 @@ public class EmployeeDAO {
             System.err.println("Error creating employee: " + e.getMessage());
             e.printStackTrace();
             throw new RuntimeException("Failed to create employee: " + e.getMessage(), e);
+        } finally {
+            TableVersions.bump(TableVersions.EMPLOYEES);
         }
         
         return false;
     }
     
     /**
-     * Update an existing employee
+     * Update an existing employee, writing only the fields modified since it was loaded or saved.
+     * An employee with no modified fields is not written at all.
      * @param employee Employee object to update
-     * @return true if successful, false otherwise
+     * @return true if successful or nothing needed saving, false otherwise
      */
     public boolean updateEmployee(Employee employee) {
-        String sql = "UPDATE employees SET employee_code = ?, first_name = ?, last_name = ?, email = ?, " +
-                    "phone = ?, address = ?, date_of_birth = ?, hire_date = ?, department_id = ?, " +
-                    "position = ?, base_salary = ?, employment_status = ? WHERE employee_id = ?";
+        Set<Employee.Field> fields = employee.getChangedFields();
+        if (fields.isEmpty()) {
+            return true;
+        }
+        
+        StringJoiner assignments = new StringJoiner(", ");
+        for (Employee.Field field : fields) {
+            assignments.add(field.getColumn() + " = ?");
+        }
+        String sql = "UPDATE employees SET " + assignments + " WHERE employee_id = ?";
         
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
-            stmt.setString(1, employee.getEmployeeCode());
-            stmt.setString(2, employee.getFirstName());
-            stmt.setString(3, employee.getLastName());
-            stmt.setString(4, employee.getEmail());
-            stmt.setString(5, employee.getPhone());
-            stmt.setString(6, employee.getAddress());
-            stmt.setDate(7, employee.getDateOfBirth());
-            stmt.setDate(8, employee.getHireDate());
-            stmt.setInt(9, employee.getDepartmentId());
-            stmt.setString(10, employee.getPosition());
-            stmt.setBigDecimal(11, employee.getBaseSalary());
-            stmt.setString(12, employee.getEmploymentStatus().toString());
-            stmt.setInt(13, employee.getEmployeeId());
+            int index = 1;
+            for (Employee.Field field : fields) {
+                bindEmployeeField(stmt, index++, employee, field);
+            }
+            stmt.setInt(index, employee.getEmployeeId());
             
-            return stmt.executeUpdate() > 0;
+            boolean updated = stmt.executeUpdate() > 0;
+            if (updated) {
+                employee.markClean();
+            }
+            return updated;
             
         } catch (SQLException e) {
             System.err.println("Error updating employee: " + e.getMessage());
             e.printStackTrace();
             throw new RuntimeException("Failed to update employee: " + e.getMessage(), e);
+        } finally {
+            evict(employee.getEmployeeId());
+        }
+    }
+    
+    private void bindEmployeeField(PreparedStatement stmt, int index, Employee employee, Employee.Field field)
+            throws SQLException {
+        switch (field) {
+            case EMPLOYEE_CODE: stmt.setString(index, employee.getEmployeeCode()); break;
+            case FIRST_NAME: stmt.setString(index, employee.getFirstName()); break;
+            case LAST_NAME: stmt.setString(index, employee.getLastName()); break;
+            case EMAIL: stmt.setString(index, employee.getEmail()); break;
+            case PHONE: stmt.setString(index, employee.getPhone()); break;
+            case ADDRESS: stmt.setString(index, employee.getAddress()); break;
+            case DATE_OF_BIRTH: stmt.setDate(index, employee.getDateOfBirth()); break;
+            case HIRE_DATE: stmt.setDate(index, employee.getHireDate()); break;
+            case DEPARTMENT_ID: stmt.setInt(index, employee.getDepartmentId()); break;
+            case POSITION: stmt.setString(index, employee.getPosition()); break;
+            case BASE_SALARY: stmt.setBigDecimal(index, employee.getBaseSalary()); break;
+            case EMPLOYMENT_STATUS: stmt.setString(index, employee.getEmploymentStatus().toString()); break;
+            default: throw new IllegalArgumentException("Unknown employee field: " + field);
         }
     }
     
@@ -108,43 +155,66 @@ public class EmployeeDAO {
             
         } catch (SQLException e) {
             System.err.println("Error deleting employee: " + e.getMessage());
+        } finally {
+            evict(employeeId);
         }
         
         return false;
     }
     
     /**
-     * Get employee by ID
+     * Get employee by ID, served from the employee cache when possible
      * @param employeeId Employee ID
      * @return Employee object if found, null otherwise
      */
     public Employee getEmployeeById(int employeeId) {
+        Employee cached = employeeCache.get(employeeId);
+        if (cached != null) {
+            return new Employee(cached);
+        }
+        
         String sql = "SELECT e.*, d.department_name FROM employees e " +
                     "LEFT JOIN departments d ON e.department_id = d.department_id " +
                     "WHERE e.employee_id = ?";
-        
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setInt(1, employeeId);
-            ResultSet rs = stmt.executeQuery();
-            
-            if (rs.next()) {
-                return mapResultSetToEmployee(rs);
+        return loadEmployee(sql, stmt -> stmt.setInt(1, employeeId), "Error getting employee by ID: ");
+    }
+    
+    /**
+     * Get employee by employee code, served from the employee cache when possible
+     * @param employeeCode Employee code
+     * @return Employee object if found, null otherwise
+     */
+    public Employee getEmployeeByCode(String employeeCode) {
+        Integer employeeId = idsByCode.get(employeeCode);
+        if (employeeId != null) {
+            Employee cached = employeeCache.get(employeeId);
+            if (cached != null && employeeCode.equals(cached.getEmployeeCode())) {
+                return new Employee(cached);
             }
-            
-        } catch (SQLException e) {
-            System.err.println("Error getting employee by ID: " + e.getMessage());
+        } else {
+            employeeCache.getStatistics().recordMiss();
         }
         
-        return null;
+        String sql = "SELECT e.*, d.department_name FROM employees e " +
+                    "LEFT JOIN departments d ON e.department_id = d.department_id " +
+                    "WHERE e.employee_code = ?";
+        return loadEmployee(sql, stmt -> stmt.setString(1, employeeCode), "Error getting employee by code: ");
     }
     
     /**
      * Get all active employees
-     * @return List of active employees
+     * @return List of active employees, empty on error
      */
     public List<Employee> getAllEmployees() {
+        List<Employee> employees = getActiveEmployees();
+        return employees != null ? employees : new ArrayList<>();
+    }
+    
+    /**
+     * Get all active employees, telling a failed query apart from having no active employees
+     * @return List of active employees, or null on error
+     */
+    public List<Employee> getActiveEmployees() {
         List<Employee> employees = new ArrayList<>();
         String sql = "SELECT e.*, d.department_name FROM employees e " +
                     "LEFT JOIN departments d ON e.department_id = d.department_id " +
@@ -157,35 +227,76 @@ public class EmployeeDAO {
             while (rs.next()) {
                 employees.add(mapResultSetToEmployee(rs));
             }
+            return employees;
             
         } catch (SQLException e) {
             System.err.println("Error getting all employees: " + e.getMessage());
         }
         
-        return employees;
+        return null;
     }
     
     /**
-     * Search employees by various criteria
-     * @param searchTerm Search term
-     * @return List of matching employees
+     * Get all active employees as lightweight rows for list views
+     * @return List of employee summaries with only the columns shown in the employee grid
      */
-    public List<Employee> searchEmployees(String searchTerm) {
+    public List<EmployeeSummary> getAllEmployeeSummaries() {
+        List<EmployeeSummary> summaries = new ArrayList<>();
+        String sql = "SELECT e.employee_id, e.employee_code, e.first_name, e.last_name, e.email, e.phone, " +
+                    "d.department_name, e.position, e.base_salary, e.employment_status, e.hire_date " +
+                    "FROM employees e " +
+                    "LEFT JOIN departments d ON e.department_id = d.department_id " +
+                    "WHERE e.employment_status = 'ACTIVE' ORDER BY e.first_name, e.last_name";
+        
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            
+            while (rs.next()) {
+                summaries.add(mapResultSetToEmployeeSummary(rs));
+            }
+            
+        } catch (SQLException e) {
+            System.err.println("Error getting employee summaries: " + e.getMessage());
+        }
+        
+        return summaries;
+    }
+    
+    /**
+     * Get one page of active employees using keyset pagination, ordered by first name, last name and ID.
+     * Pass the sort key of the last employee of the previous page to get the next page;
+     * the cost per page stays the same however deep the page is.
+     * @param afterFirstName First name of the last employee already seen, or null for the first page
+     * @param afterLastName Last name of the last employee already seen
+     * @param afterEmployeeId ID of the last employee already seen
+     * @param pageSize Maximum number of employees to return
+     * @return List of up to pageSize active employees following the given key
+     */
+    public List<Employee> getEmployeesPage(String afterFirstName, String afterLastName, int afterEmployeeId,
+                                           int pageSize) {
         List<Employee> employees = new ArrayList<>();
+        boolean firstPage = afterFirstName == null;
         String sql = "SELECT e.*, d.department_name FROM employees e " +
                     "LEFT JOIN departments d ON e.department_id = d.department_id " +
-                    "WHERE e.employment_status = 'ACTIVE' AND " +
-                    "(e.employee_code LIKE ? OR e.first_name LIKE ? OR e.last_name LIKE ? OR " +
-                    "e.email LIKE ? OR e.position LIKE ? OR d.department_name LIKE ?) " +
-                    "ORDER BY e.first_name, e.last_name";
+                    "WHERE e.employment_status = 'ACTIVE' " +
+                    (firstPage ? "" :
+                    "AND (e.first_name > ? OR (e.first_name = ? AND " +
+                    "(e.last_name > ? OR (e.last_name = ? AND e.employee_id > ?)))) ") +
+                    "ORDER BY e.first_name, e.last_name, e.employee_id LIMIT ?";
         
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
-            String searchPattern = "%" + searchTerm + "%";
-            for (int i = 1; i <= 6; i++) {
-                stmt.setString(i, searchPattern);
+            int index = 1;
+            if (!firstPage) {
+                stmt.setString(index++, afterFirstName);
+                stmt.setString(index++, afterFirstName);
+                stmt.setString(index++, afterLastName);
+                stmt.setString(index++, afterLastName);
+                stmt.setInt(index++, afterEmployeeId);
             }
+            stmt.setInt(index, pageSize);
             
             ResultSet rs = stmt.executeQuery();
             
@@ -193,6 +304,125 @@ public class EmployeeDAO {
                 employees.add(mapResultSetToEmployee(rs));
             }
             
+        } catch (SQLException e) {
+            System.err.println("Error getting employee page: " + e.getMessage());
+        }
+        
+        return employees;
+    }
+    
+    /**
+     * Search active employees, returning at most SEARCH_RESULT_LIMIT matches
+     * @param searchTerm Search term
+     * @return List of matching employees, best matches first
+     */
+    public List<Employee> searchEmployees(String searchTerm) {
+        return searchEmployees(searchTerm, DatabaseConfig.SEARCH_RESULT_LIMIT);
+    }
+    
+    /**
+     * Search active employees using the indexes instead of scanning the table.
+     * An exact employee code or email is looked up directly. Otherwise every word of the term must
+     * prefix-match the code, name, email or position (FULLTEXT index), or the department name;
+     * results are ranked by relevance. Words too short for the FULLTEXT index must prefix-match the
+     * code, first name, last name or email, and terms with no longer word fall back to that prefix match.
+     * @param searchTerm Search term
+     * @param limit Maximum number of results
+     * @return List of matching employees, best matches first
+     */
+    public List<Employee> searchEmployees(String searchTerm, int limit) {
+        List<Employee> employees = new ArrayList<>();
+        String term = searchTerm != null ? searchTerm.trim() : "";
+        if (term.isEmpty() || limit <= 0) {
+            return employees;
+        }
+        
+        String exactSql = "SELECT e.*, d.department_name FROM employees e " +
+                    "LEFT JOIN departments d ON e.department_id = d.department_id " +
+                    "WHERE e.employment_status = 'ACTIVE' AND (e.employee_code = ? OR e.email = ?)";
+        // Words too short for the FULLTEXT index are still required, as a prefix of the code, a name or the email
+        List<String> shortWords = SearchQueries.toShortWords(term);
+        StringBuilder shortWordConditions = new StringBuilder();
+        for (int i = 0; i < shortWords.size(); i++) {
+            shortWordConditions.append("AND (e.employee_code LIKE ? OR e.first_name LIKE ? " +
+                                       "OR e.last_name LIKE ? OR e.email LIKE ?) ");
+        }
+        // Employee and department matches are separate branches so each one is driven by its FULLTEXT index;
+        // an OR across the two would make MySQL scan every employee
+        String fullTextSql = "SELECT * FROM (" +
+                    "(SELECT e.*, d.department_name, " +
+                    "MATCH(e.employee_code, e.first_name, e.last_name, e.email, e.position) " +
+                    "AGAINST (? IN BOOLEAN MODE) as relevance " +
+                    "FROM employees e " +
+                    "LEFT JOIN departments d ON e.department_id = d.department_id " +
+                    "WHERE e.employment_status = 'ACTIVE' AND " +
+                    "MATCH(e.employee_code, e.first_name, e.last_name, e.email, e.position) AGAINST (? IN BOOLEAN MODE) " +
+                    shortWordConditions +
+                    "ORDER BY relevance DESC LIMIT ?) " +
+                    "UNION ALL " +
+                    "(SELECT e.*, d.department_name, 0 as relevance " +
+                    "FROM departments d " +
+                    "JOIN employees e ON e.department_id = d.department_id " +
+                    "WHERE MATCH(d.department_name, d.department_code) AGAINST (? IN BOOLEAN MODE) " +
+                    "AND e.employment_status = 'ACTIVE' " +
+                    shortWordConditions +
+                    "ORDER BY e.first_name, e.last_name LIMIT ?)" +
+                    ") matches ORDER BY relevance DESC, first_name, last_name";
+        String prefixSql = "SELECT e.*, d.department_name FROM employees e " +
+                    "LEFT JOIN departments d ON e.department_id = d.department_id " +
+                    "WHERE e.employment_status = 'ACTIVE' AND " +
+                    "(e.employee_code LIKE ? OR e.first_name LIKE ? OR e.last_name LIKE ? OR e.email LIKE ?) " +
+                    "ORDER BY e.first_name, e.last_name LIMIT ?";
+        
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            
+            // Employee code and email are unique, an exact hit is the answer
+            try (PreparedStatement stmt = conn.prepareStatement(exactSql)) {
+                stmt.setString(1, term);
+                stmt.setString(2, term);
+                ResultSet rs = stmt.executeQuery();
+                while (rs.next()) {
+                    employees.add(mapResultSetToEmployee(rs));
+                }
+            }
+            if (!employees.isEmpty()) {
+                return employees;
+            }
+            
+            String booleanQuery = SearchQueries.toBooleanPrefixQuery(term);
+            if (booleanQuery != null) {
+                try (PreparedStatement stmt = conn.prepareStatement(fullTextSql)) {
+                    int index = 1;
+                    stmt.setString(index++, booleanQuery);
+                    stmt.setString(index++, booleanQuery);
+                    index = bindShortWords(stmt, index, shortWords);
+                    stmt.setInt(index++, limit);
+                    stmt.setString(index++, booleanQuery);
+                    index = bindShortWords(stmt, index, shortWords);
+                    stmt.setInt(index, limit);
+                    ResultSet rs = stmt.executeQuery();
+                    // An employee matched by name and by department comes back twice, keep the better match
+                    Set<Integer> seen = new HashSet<>();
+                    while (rs.next() && employees.size() < limit) {
+                        if (seen.add(rs.getInt("employee_id"))) {
+                            employees.add(mapResultSetToEmployee(rs));
+                        }
+                    }
+                }
+            } else {
+                try (PreparedStatement stmt = conn.prepareStatement(prefixSql)) {
+                    String prefixPattern = SearchQueries.toPrefixPattern(term);
+                    for (int i = 1; i <= 4; i++) {
+                        stmt.setString(i, prefixPattern);
+                    }
+                    stmt.setInt(5, limit);
+                    ResultSet rs = stmt.executeQuery();
+                    while (rs.next()) {
+                        employees.add(mapResultSetToEmployee(rs));
+                    }
+                }
+            }
+            
         } catch (SQLException e) {
             System.err.println("Error searching employees: " + e.getMessage());
         }
@@ -200,6 +430,20 @@ public class EmployeeDAO {
         return employees;
     }
     
+    /**
+     * Bind a code/first name/last name/email prefix pattern for each short search word
+     * @return Index of the next parameter
+     */
+    private int bindShortWords(PreparedStatement stmt, int index, List<String> shortWords) throws SQLException {
+        for (String word : shortWords) {
+            String prefixPattern = SearchQueries.toPrefixPattern(word);
+            for (int i = 0; i < 4; i++) {
+                stmt.setString(index++, prefixPattern);
+            }
+        }
+        return index;
+    }
+    
     /**
      * Get employees by department
      * @param departmentId Department ID
@@ -313,6 +557,71 @@ public class EmployeeDAO {
         return stats;
     }
     
+    /**
+     * Drop all cached employees, e.g. after a department rename changes the joined department name
+     */
+    public static void invalidateCache() {
+        writeGeneration.incrementAndGet();
+        employeeCache.clear();
+        idsByCode.clear();
+    }
+    
+    /**
+     * @return Hit, miss and eviction counts of the employee cache
+     */
+    public static CacheStatistics getCacheStatistics() {
+        return employeeCache.getStatistics();
+    }
+    
+    private static void evict(int employeeId) {
+        writeGeneration.incrementAndGet();
+        TableVersions.bump(TableVersions.EMPLOYEES);
+        Employee removed = employeeCache.remove(employeeId);
+        if (removed != null) {
+            idsByCode.remove(removed.getEmployeeCode(), employeeId);
+            employeeCache.getStatistics().recordEviction();
+        }
+    }
+    
+    /**
+     * Binds parameters of a single-employee query
+     */
+    private interface ParameterBinder {
+        void bind(PreparedStatement stmt) throws SQLException;
+    }
+    
+    /**
+     * Load one employee from the database and add it to the cache
+     * unless a write happened while the query was running
+     */
+    private Employee loadEmployee(String sql, ParameterBinder binder, String errorMessage) {
+        long generation = writeGeneration.get();
+        
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            binder.bind(stmt);
+            ResultSet rs = stmt.executeQuery();
+            
+            if (rs.next()) {
+                Employee employee = mapResultSetToEmployee(rs);
+                if (generation == writeGeneration.get()) {
+                    employeeCache.put(employee.getEmployeeId(), new Employee(employee));
+                    idsByCode.put(employee.getEmployeeCode(), employee.getEmployeeId());
+                    if (generation != writeGeneration.get()) {
+                        evict(employee.getEmployeeId()); // A write slipped in between the check and the put
+                    }
+                }
+                return employee;
+            }
+            
+        } catch (SQLException e) {
+            System.err.println(errorMessage + e.getMessage());
+        }
+        
+        return null;
+    }
+    
     /**
      * Map ResultSet to Employee object
      * @param rs ResultSet
@@ -337,6 +646,29 @@ public class EmployeeDAO {
         employee.setEmploymentStatus(Employee.EmploymentStatus.valueOf(rs.getString("employment_status")));
         employee.setCreatedAt(rs.getTimestamp("created_at"));
         employee.setUpdatedAt(rs.getTimestamp("updated_at"));
+        employee.markClean();
         return employee;
     }
-}
\ No newline at end of file
+    
+    /**
+     * Map ResultSet to EmployeeSummary object
+     * @param rs ResultSet
+     * @return EmployeeSummary object
+     * @throws SQLException if SQL error occurs
+     */
+    private EmployeeSummary mapResultSetToEmployeeSummary(ResultSet rs) throws SQLException {
+        EmployeeSummary summary = new EmployeeSummary();
+        summary.setEmployeeId(rs.getInt("employee_id"));
+        summary.setEmployeeCode(rs.getString("employee_code"));
+        summary.setFirstName(rs.getString("first_name"));
+        summary.setLastName(rs.getString("last_name"));
+        summary.setEmail(rs.getString("email"));
+        summary.setPhone(rs.getString("phone"));
+        summary.setDepartmentName(rs.getString("department_name"));
+        summary.setPosition(rs.getString("position"));
+        summary.setBaseSalary(rs.getBigDecimal("base_salary"));
+        summary.setEmploymentStatus(Employee.EmploymentStatus.valueOf(rs.getString("employment_status")));
+        summary.setHireDate(rs.getDate("hire_date"));
+        return summary;
+    }
+}
@@ -1,49 +1,71 @@
 package dao;
 
+import config.DatabaseConfig;
+import models.Money;
 import models.Payroll;
+import models.PayrollStatistics;
+import models.PayrollSummary;
 import utils.DatabaseConnection;
+import utils.PayrollColumnStore;
+import utils.QueryResultCache;
+import utils.SearchQueries;
+import utils.TableVersions;
+import java.math.BigDecimal;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Data Access Object for Payroll operations
  */
 public class PayrollDAO {
     
+    // Report query results, dropped automatically when the payroll or employees tables change
+    private static final QueryResultCache reportCache =
+        new QueryResultCache(DatabaseConfig.REPORT_CACHE_CAPACITY, DatabaseConfig.REPORT_CACHE_TTL);
+    private static final String[] REPORT_TABLES = { TableVersions.PAYROLL, TableVersions.EMPLOYEES };
+    
+    private static final String INSERT_SQL =
+        "INSERT INTO payroll (employee_id, pay_period_start, pay_period_end, base_salary, " +
+        "overtime_hours, overtime_rate, overtime_pay, bonus, allowances, gross_salary, " +
+        "tax_deduction, insurance_deduction, other_deductions, total_deductions, net_salary, " +
+        "payment_date, payment_status, created_by) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    
+    // Number of IDs bound per bulk status UPDATE statement
+    private static final int STATUS_UPDATE_CHUNK_SIZE = 500;
+    
+    private static final String SUMMARY_SELECT =
+        "SELECT p.payroll_id, e.employee_code, CONCAT(e.first_name, ' ', e.last_name) as employee_name, " +
+        "p.pay_period_start, p.pay_period_end, p.base_salary, p.overtime_pay, p.bonus, " +
+        "p.gross_salary, p.total_deductions, p.net_salary, p.payment_status, p.payment_date " +
+        "FROM payroll p " +
+        "JOIN employees e ON p.employee_id = e.employee_id ";
+    
     /**
      * Create a new payroll record
      * @param payroll Payroll object to create
      * @return true if successful, false otherwise
      */
     public boolean createPayroll(Payroll payroll) {
-        String sql = "INSERT INTO payroll (employee_id, pay_period_start, pay_period_end, base_salary, " +
-                    "overtime_hours, overtime_rate, overtime_pay, bonus, allowances, gross_salary, " +
-                    "tax_deduction, insurance_deduction, other_deductions, total_deductions, net_salary, " +
-                    "payment_date, payment_status, created_by) " +
-                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
-        
         try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            
-            stmt.setInt(1, payroll.getEmployeeId());
-            stmt.setDate(2, payroll.getPayPeriodStart());
-            stmt.setDate(3, payroll.getPayPeriodEnd());
-            stmt.setBigDecimal(4, payroll.getBaseSalary());
-            stmt.setBigDecimal(5, payroll.getOvertimeHours());
-            stmt.setBigDecimal(6, payroll.getOvertimeRate());
-            stmt.setBigDecimal(7, payroll.getOvertimePay());
-            stmt.setBigDecimal(8, payroll.getBonus());
-            stmt.setBigDecimal(9, payroll.getAllowances());
-            stmt.setBigDecimal(10, payroll.getGrossSalary());
-            stmt.setBigDecimal(11, payroll.getTaxDeduction());
-            stmt.setBigDecimal(12, payroll.getInsuranceDeduction());
-            stmt.setBigDecimal(13, payroll.getOtherDeductions());
-            stmt.setBigDecimal(14, payroll.getTotalDeductions());
-            stmt.setBigDecimal(15, payroll.getNetSalary());
-            stmt.setDate(16, payroll.getPaymentDate());
-            stmt.setString(17, payroll.getPaymentStatus().toString());
-            stmt.setInt(18, payroll.getCreatedBy());
+             PreparedStatement stmt = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+            
+            bindInsertParameters(stmt, payroll);
             
             int rowsAffected = stmt.executeUpdate();
             
@@ -52,59 +74,251 @@ public class PayrollDAO {
                 if (generatedKeys.next()) {
                     payroll.setPayrollId(generatedKeys.getInt(1));
                 }
+                payroll.markClean();
                 return true;
             }
             
         } catch (SQLException e) {
             System.err.println("Error creating payroll: " + e.getMessage());
+        } finally {
+            TableVersions.bump(TableVersions.PAYROLL);
         }
         
         return false;
     }
     
     /**
-     * Update an existing payroll record
+     * Create payroll records in a single transaction using JDBC batching
+     * @param payrolls Payroll records to create
+     * @return Batch result with generated IDs in input order and any per-row failures
+     */
+    public BatchResult createPayrolls(List<Payroll> payrolls) {
+        return createPayrolls(payrolls, DatabaseConfig.PAYROLL_BATCH_SIZE);
+    }
+    
+    /**
+     * Create payroll records in a single transaction using JDBC batching.
+     * Either every record is inserted or, if any row fails, none are and the failures are reported.
+     * @param payrolls Payroll records to create
+     * @param batchSize Number of rows sent to the server per batch
+     * @return Batch result with generated IDs in input order and any per-row failures
+     */
+    public BatchResult createPayrolls(List<Payroll> payrolls, int batchSize) {
+        BatchResult result = new BatchResult(payrolls.size());
+        if (payrolls.isEmpty()) {
+            return result;
+        }
+        int chunkSize = Math.max(1, batchSize);
+        
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            
+            try (PreparedStatement stmt = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                for (int start = 0; start < payrolls.size(); start += chunkSize) {
+                    int end = Math.min(start + chunkSize, payrolls.size());
+                    
+                    for (int i = start; i < end; i++) {
+                        bindInsertParameters(stmt, payrolls.get(i));
+                        stmt.addBatch();
+                    }
+                    
+                    try {
+                        stmt.executeBatch();
+                    } catch (BatchUpdateException e) {
+                        stmt.clearBatch();
+                        recordRowFailures(stmt, payrolls, start, end, result);
+                        if (!result.hasFailures()) {
+                            // No single row is at fault (e.g. deadlock), fail the batch as a whole
+                            result.batchError = e.getMessage();
+                        }
+                        continue;
+                    }
+                    
+                    try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                        for (int i = start; i < end && generatedKeys.next(); i++) {
+                            result.generatedIds[i] = generatedKeys.getInt(1);
+                        }
+                    }
+                }
+            }
+            
+            if (result.hasFailures()) {
+                conn.rollback();
+                Arrays.fill(result.generatedIds, 0);
+            } else {
+                conn.commit();
+                for (int i = 0; i < payrolls.size(); i++) {
+                    payrolls.get(i).setPayrollId(result.generatedIds[i]);
+                    payrolls.get(i).markClean();
+                }
+            }
+            
+        } catch (SQLException e) {
+            System.err.println("Error creating payroll batch: " + e.getMessage());
+            Arrays.fill(result.generatedIds, 0);
+            result.batchError = e.getMessage();
+        } finally {
+            TableVersions.bump(TableVersions.PAYROLL);
+        }
+        
+        return result;
+    }
+    
+    /**
+     * Find out which rows of a failed batch are at fault by inserting them one at a time.
+     * The surrounding transaction is rolled back afterwards, so these inserts never persist.
+     */
+    private void recordRowFailures(PreparedStatement stmt, List<Payroll> payrolls, int start, int end,
+                                   BatchResult result) throws SQLException {
+        for (int i = start; i < end; i++) {
+            try {
+                bindInsertParameters(stmt, payrolls.get(i));
+                stmt.executeUpdate();
+            } catch (SQLException rowError) {
+                result.failures.put(i, rowError.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * Bind the INSERT_SQL parameters for a payroll record
+     */
+    private void bindInsertParameters(PreparedStatement stmt, Payroll payroll) throws SQLException {
+        stmt.setInt(1, payroll.getEmployeeId());
+        stmt.setDate(2, payroll.getPayPeriodStart());
+        stmt.setDate(3, payroll.getPayPeriodEnd());
+        stmt.setBigDecimal(4, payroll.getBaseSalary());
+        stmt.setBigDecimal(5, payroll.getOvertimeHours());
+        stmt.setBigDecimal(6, payroll.getOvertimeRate());
+        stmt.setBigDecimal(7, payroll.getOvertimePay());
+        stmt.setBigDecimal(8, payroll.getBonus());
+        stmt.setBigDecimal(9, payroll.getAllowances());
+        stmt.setBigDecimal(10, payroll.getGrossSalary());
+        stmt.setBigDecimal(11, payroll.getTaxDeduction());
+        stmt.setBigDecimal(12, payroll.getInsuranceDeduction());
+        stmt.setBigDecimal(13, payroll.getOtherDeductions());
+        stmt.setBigDecimal(14, payroll.getTotalDeductions());
+        stmt.setBigDecimal(15, payroll.getNetSalary());
+        stmt.setDate(16, payroll.getPaymentDate());
+        stmt.setString(17, payroll.getPaymentStatus().toString());
+        stmt.setInt(18, payroll.getCreatedBy());
+    }
+    
+    /**
+     * Create the payroll of every active employee for a period in one set-based INSERT ... SELECT, so employee
+     * rows never leave the server. Uses the formula of the CalculateMonthlyPayroll procedure without overtime
+     * or bonus: gross salary is the base salary, and tax and insurance are shares of it rounded to the cent.
+     * Employees who already have a payroll overlapping the period are skipped.
+     * @param startDate Pay period start date
+     * @param endDate Pay period end date
+     * @param createdBy User ID recorded on the new records
+     * @param taxRate Share of gross salary withheld as tax, e.g. 0.15
+     * @param insuranceRate Share of gross salary withheld for insurance, e.g. 0.05
+     * @return Number of payroll records created, or -1 if the insert failed
+     */
+    public int createPayrollsForActiveEmployees(Date startDate, Date endDate, int createdBy,
+                                                BigDecimal taxRate, BigDecimal insuranceRate) {
+        String sql = "INSERT INTO payroll (employee_id, pay_period_start, pay_period_end, base_salary, " +
+                    "overtime_hours, overtime_rate, overtime_pay, bonus, allowances, gross_salary, " +
+                    "tax_deduction, insurance_deduction, other_deductions, total_deductions, net_salary, " +
+                    "payment_status, created_by) " +
+                    "SELECT t.employee_id, ?, ?, t.base_salary, 0, 1.5, 0, 0, 0, t.base_salary, " +
+                    "t.tax, t.insurance, 0, t.tax + t.insurance, t.base_salary - t.tax - t.insurance, " +
+                    "'PENDING', ? " +
+                    "FROM (SELECT e.employee_id, e.base_salary, " +
+                    "ROUND(e.base_salary * ?, 2) AS tax, ROUND(e.base_salary * ?, 2) AS insurance " +
+                    "FROM employees e " +
+                    "WHERE e.employment_status = 'ACTIVE' AND NOT EXISTS (" +
+                    "SELECT 1 FROM payroll p WHERE p.employee_id = e.employee_id " +
+                    "AND p.pay_period_start <= ? AND p.pay_period_end >= ?)) t";
+        
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setDate(1, startDate);
+            stmt.setDate(2, endDate);
+            stmt.setInt(3, createdBy);
+            stmt.setBigDecimal(4, taxRate);
+            stmt.setBigDecimal(5, insuranceRate);
+            stmt.setDate(6, endDate);
+            stmt.setDate(7, startDate);
+            
+            return stmt.executeUpdate();
+            
+        } catch (SQLException e) {
+            System.err.println("Error creating payroll for active employees: " + e.getMessage());
+        } finally {
+            TableVersions.bump(TableVersions.PAYROLL);
+        }
+        
+        return -1;
+    }
+    
+    /**
+     * Update an existing payroll record, writing only the fields modified since it was loaded or saved.
+     * A record with no modified fields is not written at all.
      * @param payroll Payroll object to update
-     * @return true if successful, false otherwise
+     * @return true if successful or nothing needed saving, false otherwise
      */
     public boolean updatePayroll(Payroll payroll) {
-        String sql = "UPDATE payroll SET employee_id = ?, pay_period_start = ?, pay_period_end = ?, " +
-                    "base_salary = ?, overtime_hours = ?, overtime_rate = ?, overtime_pay = ?, " +
-                    "bonus = ?, allowances = ?, gross_salary = ?, tax_deduction = ?, " +
-                    "insurance_deduction = ?, other_deductions = ?, total_deductions = ?, " +
-                    "net_salary = ?, payment_date = ?, payment_status = ? WHERE payroll_id = ?";
+        Set<Payroll.Field> fields = payroll.getChangedFields();
+        if (fields.isEmpty()) {
+            return true;
+        }
+        
+        StringJoiner assignments = new StringJoiner(", ");
+        for (Payroll.Field field : fields) {
+            assignments.add(field.getColumn() + " = ?");
+        }
+        String sql = "UPDATE payroll SET " + assignments + " WHERE payroll_id = ?";
         
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
-            stmt.setInt(1, payroll.getEmployeeId());
-            stmt.setDate(2, payroll.getPayPeriodStart());
-            stmt.setDate(3, payroll.getPayPeriodEnd());
-            stmt.setBigDecimal(4, payroll.getBaseSalary());
-            stmt.setBigDecimal(5, payroll.getOvertimeHours());
-            stmt.setBigDecimal(6, payroll.getOvertimeRate());
-            stmt.setBigDecimal(7, payroll.getOvertimePay());
-            stmt.setBigDecimal(8, payroll.getBonus());
-            stmt.setBigDecimal(9, payroll.getAllowances());
-            stmt.setBigDecimal(10, payroll.getGrossSalary());
-            stmt.setBigDecimal(11, payroll.getTaxDeduction());
-            stmt.setBigDecimal(12, payroll.getInsuranceDeduction());
-            stmt.setBigDecimal(13, payroll.getOtherDeductions());
-            stmt.setBigDecimal(14, payroll.getTotalDeductions());
-            stmt.setBigDecimal(15, payroll.getNetSalary());
-            stmt.setDate(16, payroll.getPaymentDate());
-            stmt.setString(17, payroll.getPaymentStatus().toString());
-            stmt.setInt(18, payroll.getPayrollId());
+            int index = 1;
+            for (Payroll.Field field : fields) {
+                bindPayrollField(stmt, index++, payroll, field);
+            }
+            stmt.setInt(index, payroll.getPayrollId());
             
-            return stmt.executeUpdate() > 0;
+            if (stmt.executeUpdate() > 0) {
+                payroll.markClean();
+                return true;
+            }
             
         } catch (SQLException e) {
             System.err.println("Error updating payroll: " + e.getMessage());
+        } finally {
+            TableVersions.bump(TableVersions.PAYROLL);
         }
         
         return false;
     }
     
+    private void bindPayrollField(PreparedStatement stmt, int index, Payroll payroll, Payroll.Field field)
+            throws SQLException {
+        switch (field) {
+            case EMPLOYEE_ID: stmt.setInt(index, payroll.getEmployeeId()); break;
+            case PAY_PERIOD_START: stmt.setDate(index, payroll.getPayPeriodStart()); break;
+            case PAY_PERIOD_END: stmt.setDate(index, payroll.getPayPeriodEnd()); break;
+            case BASE_SALARY: stmt.setBigDecimal(index, payroll.getBaseSalary()); break;
+            case OVERTIME_HOURS: stmt.setBigDecimal(index, payroll.getOvertimeHours()); break;
+            case OVERTIME_RATE: stmt.setBigDecimal(index, payroll.getOvertimeRate()); break;
+            case OVERTIME_PAY: stmt.setBigDecimal(index, payroll.getOvertimePay()); break;
+            case BONUS: stmt.setBigDecimal(index, payroll.getBonus()); break;
+            case ALLOWANCES: stmt.setBigDecimal(index, payroll.getAllowances()); break;
+            case GROSS_SALARY: stmt.setBigDecimal(index, payroll.getGrossSalary()); break;
+            case TAX_DEDUCTION: stmt.setBigDecimal(index, payroll.getTaxDeduction()); break;
+            case INSURANCE_DEDUCTION: stmt.setBigDecimal(index, payroll.getInsuranceDeduction()); break;
+            case OTHER_DEDUCTIONS: stmt.setBigDecimal(index, payroll.getOtherDeductions()); break;
+            case TOTAL_DEDUCTIONS: stmt.setBigDecimal(index, payroll.getTotalDeductions()); break;
+            case NET_SALARY: stmt.setBigDecimal(index, payroll.getNetSalary()); break;
+            case PAYMENT_DATE: stmt.setDate(index, payroll.getPaymentDate()); break;
+            case PAYMENT_STATUS: stmt.setString(index, payroll.getPaymentStatus().toString()); break;
+            default: throw new IllegalArgumentException("Unknown payroll field: " + field);
+        }
+    }
+    
     /**
      * Delete a payroll record
      * @param payrollId Payroll ID to delete
@@ -121,6 +335,8 @@ public class PayrollDAO {
             
         } catch (SQLException e) {
             System.err.println("Error deleting payroll: " + e.getMessage());
+        } finally {
+            TableVersions.bump(TableVersions.PAYROLL);
         }
         
         return false;
@@ -180,6 +396,439 @@ public class PayrollDAO {
         return payrolls;
     }
     
+    /**
+     * Get all payroll records as lightweight rows for list views
+     * @return List of payroll summaries with only the columns shown in the payroll grid
+     */
+    public List<PayrollSummary> getAllPayrollSummaries() {
+        List<PayrollSummary> summaries = new ArrayList<>();
+        String sql = SUMMARY_SELECT + "ORDER BY p.pay_period_end DESC, e.first_name";
+        
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            
+            while (rs.next()) {
+                summaries.add(mapResultSetToPayrollSummary(rs));
+            }
+            
+        } catch (SQLException e) {
+            System.err.println("Error getting payroll summaries: " + e.getMessage());
+        }
+        
+        return summaries;
+    }
+    
+    /**
+     * Count the payroll summaries matching a query
+     * @param query Filter to apply; its sort order is ignored
+     * @return Number of matching payroll records
+     */
+    public int countPayrollSummaries(SummaryQuery query) {
+        try {
+            SummaryFilter filter = summaryFilter(query);
+            String sql = "SELECT COUNT(*) FROM payroll p " +
+                        "JOIN employees e ON p.employee_id = e.employee_id " +
+                        filter.whereClause();
+            
+            try (Connection conn = DatabaseConnection.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(sql)) {
+                
+                filter.bind(stmt, 1);
+                
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (rs.next()) {
+                        return rs.getInt(1);
+                    }
+                }
+            }
+            
+        } catch (SQLException e) {
+            System.err.println("Error counting payroll summaries: " + e.getMessage());
+        }
+        
+        return 0;
+    }
+    
+    /**
+     * Get a window of the payroll summaries matching a query, in the query's sort order.
+     * Ties are broken by payroll ID so consecutive windows neither repeat nor skip rows.
+     * @param query Filter and sort order
+     * @param offset Number of matching rows to skip
+     * @param limit Maximum number of rows to return
+     * @return List of up to limit payroll summaries
+     */
+    public List<PayrollSummary> getPayrollSummaries(SummaryQuery query, int offset, int limit) {
+        return getPayrollSummaries(query, null, true, offset, limit);
+    }
+    
+    /**
+     * Get a window of the payroll summaries matching a query, in the query's sort order, positioned
+     * relative to a row already read. The rows past the anchor are found with a keyset predicate on
+     * (sort value, payroll ID), so the database seeks to the anchor instead of counting off every row
+     * before it; the offset only has to skip the rows between the anchor and the window.
+     * @param query Filter and sort order
+     * @param anchor Row to read from, or null to count the offset from the first row
+     * @param forward true for rows after the anchor, false for rows before it
+     * @param offset Number of rows to skip, moving away from the anchor
+     * @param limit Maximum number of rows to return
+     * @return List of up to limit payroll summaries, in the query's sort order either way
+     */
+    public List<PayrollSummary> getPayrollSummaries(SummaryQuery query, PayrollSummary anchor, boolean forward,
+                                                    int offset, int limit) {
+        List<PayrollSummary> summaries = new ArrayList<>();
+        
+        try {
+            SummaryFilter filter = summaryFilter(query);
+            // Rows before the anchor are read walking away from it, i.e. in reverse order
+            boolean ascending = query.isAscending() == forward;
+            if (anchor != null) {
+                addSeekCondition(filter, query.getSort(), anchor, ascending);
+            }
+            String direction = ascending ? " ASC" : " DESC";
+            String sql = SUMMARY_SELECT + filter.whereClause() +
+                        "ORDER BY " + query.getSort().getColumn() + direction + ", p.payroll_id" + direction +
+                        " LIMIT ? OFFSET ?";
+            
+            try (Connection conn = DatabaseConnection.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(sql)) {
+                
+                int index = filter.bind(stmt, 1);
+                stmt.setInt(index++, limit);
+                stmt.setInt(index, offset);
+                
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        summaries.add(mapResultSetToPayrollSummary(rs));
+                    }
+                }
+            }
+            
+        } catch (SQLException e) {
+            System.err.println("Error getting payroll summaries: " + e.getMessage());
+        }
+        
+        if (!forward) {
+            Collections.reverse(summaries);
+        }
+        return summaries;
+    }
+    
+    /**
+     * Get the IDs of the payroll records with a given status among a range of the rows matching a query,
+     * e.g. to act on a table selection that covers rows never loaded into the table
+     * @param query Filter and sort order the rows are numbered by
+     * @param offset Index of the first row of the range
+     * @param limit Number of rows in the range
+     * @param status Payment status to keep
+     * @return Payroll IDs in the range with that status, or null on error
+     */
+    public List<Integer> getPayrollIds(SummaryQuery query, int offset, int limit, Payroll.PaymentStatus status) {
+        List<Integer> payrollIds = new ArrayList<>();
+        
+        try {
+            SummaryFilter filter = summaryFilter(query);
+            String direction = query.isAscending() ? " ASC" : " DESC";
+            // The range is numbered over all matching rows, so the status is checked outside the window
+            String sql = "SELECT r.payroll_id FROM (" +
+                        "SELECT p.payroll_id, p.payment_status FROM payroll p " +
+                        "JOIN employees e ON p.employee_id = e.employee_id " +
+                        filter.whereClause() +
+                        "ORDER BY " + query.getSort().getSeekColumn() + direction + ", p.payroll_id" + direction +
+                        " LIMIT ? OFFSET ?) r WHERE r.payment_status = ?";
+            
+            try (Connection conn = DatabaseConnection.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(sql)) {
+                
+                int index = filter.bind(stmt, 1);
+                stmt.setInt(index++, limit);
+                stmt.setInt(index++, offset);
+                stmt.setString(index, status.name());
+                
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        payrollIds.add(rs.getInt(1));
+                    }
+                }
+                return payrollIds;
+            }
+            
+        } catch (SQLException e) {
+            System.err.println("Error getting payroll IDs: " + e.getMessage());
+        }
+        
+        return null;
+    }
+    
+    /**
+     * Restrict a filter to the rows following an anchor row in (sort value, payroll ID) order.
+     * MySQL sorts NULL before any value, so NULL sort values come first ascending and last descending.
+     */
+    private void addSeekCondition(SummaryFilter filter, SummarySort sort, PayrollSummary anchor, boolean ascending) {
+        String column = sort.getSeekColumn();
+        Object value = sort.getKey(anchor);
+        int payrollId = anchor.getPayrollId();
+        if (value == null) {
+            if (ascending) {
+                filter.add("((" + column + " IS NULL AND p.payroll_id > ?) OR " + column + " IS NOT NULL)", payrollId);
+            } else {
+                filter.add("(" + column + " IS NULL AND p.payroll_id < ?)", payrollId);
+            }
+        } else if (ascending) {
+            filter.add("(" + column + " > ? OR (" + column + " = ? AND p.payroll_id > ?))", value, value, payrollId);
+        } else {
+            filter.add("(" + column + " < ? OR (" + column + " = ? AND p.payroll_id < ?) OR " + column + " IS NULL)",
+                       value, value, payrollId);
+        }
+    }
+    
+    /**
+     * Build the WHERE clause of a summary query. The search is a case-insensitive contains match on the
+     * employee code and name, resolved in a subquery on employees so it is evaluated once per employee
+     * rather than once per joined payroll row.
+     */
+    private SummaryFilter summaryFilter(SummaryQuery query) {
+        SummaryFilter filter = new SummaryFilter();
+        if (query.getSearchText() != null) {
+            String pattern = SearchQueries.toContainsPattern(query.getSearchText());
+            filter.add("p.employee_id IN (SELECT employee_id FROM employees " +
+                       "WHERE employee_code LIKE ? OR CONCAT(first_name, ' ', last_name) LIKE ?)", pattern, pattern);
+        }
+        if (query.getStatus() != null) {
+            filter.add("p.payment_status = ?", query.getStatus().name());
+        }
+        return filter;
+    }
+    
+    /**
+     * Conditions of a WHERE clause together with the values of their parameters
+     */
+    private static class SummaryFilter {
+        private final List<String> conditions = new ArrayList<>();
+        private final List<Object> params = new ArrayList<>();
+        
+        void add(String condition, Object... values) {
+            conditions.add(condition);
+            params.addAll(Arrays.asList(values));
+        }
+        
+        String whereClause() {
+            return conditions.isEmpty() ? "" : "WHERE " + String.join(" AND ", conditions) + " ";
+        }
+        
+        /**
+         * Bind the parameters of {@link #whereClause()}
+         * @return Index of the next parameter
+         */
+        int bind(PreparedStatement stmt, int index) throws SQLException {
+            for (Object param : params) {
+                stmt.setObject(index++, param);
+            }
+            return index;
+        }
+    }
+    
+    /**
+     * Get one page of payroll records using keyset pagination, newest pay period first (ties by ID).
+     * Pass the sort key of the last record of the previous page to get the next page;
+     * the cost per page stays the same however deep into the history the page is.
+     * @param afterPayPeriodEnd Pay period end of the last record already seen, or null for the first page
+     * @param afterPayrollId Payroll ID of the last record already seen
+     * @param pageSize Maximum number of records to return
+     * @return List of up to pageSize payroll records following the given key
+     */
+    public List<Payroll> getPayrollsPage(Date afterPayPeriodEnd, int afterPayrollId, int pageSize) {
+        List<Payroll> payrolls = new ArrayList<>();
+        boolean firstPage = afterPayPeriodEnd == null;
+        String sql = "SELECT p.*, e.employee_code, CONCAT(e.first_name, ' ', e.last_name) as employee_name " +
+                    "FROM payroll p " +
+                    "JOIN employees e ON p.employee_id = e.employee_id " +
+                    (firstPage ? "" :
+                    "WHERE p.pay_period_end < ? OR (p.pay_period_end = ? AND p.payroll_id < ?) ") +
+                    "ORDER BY p.pay_period_end DESC, p.payroll_id DESC LIMIT ?";
+        
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            int index = 1;
+            if (!firstPage) {
+                stmt.setDate(index++, afterPayPeriodEnd);
+                stmt.setDate(index++, afterPayPeriodEnd);
+                stmt.setInt(index++, afterPayrollId);
+            }
+            stmt.setInt(index, pageSize);
+            
+            ResultSet rs = stmt.executeQuery();
+            
+            while (rs.next()) {
+                payrolls.add(mapResultSetToPayroll(rs));
+            }
+            
+        } catch (SQLException e) {
+            System.err.println("Error getting payroll page: " + e.getMessage());
+        }
+        
+        return payrolls;
+    }
+    
+    /**
+     * Stream every payroll record without loading them all into memory
+     * @return Stream of payroll records in payroll ID order; close it to release the connection
+     */
+    public Stream<Payroll> streamAllPayrolls() {
+        return streamAllPayrolls(DatabaseConfig.STREAM_FETCH_SIZE);
+    }
+    
+    /**
+     * Stream every payroll record through a server-side cursor, fetching fetchSize rows at a time,
+     * so memory use stays the same regardless of how many records there are.
+     * The stream holds a pooled connection until it is closed, so use it in try-with-resources.
+     * @param fetchSize Number of rows fetched from the server per round trip
+     * @return Stream of payroll records in payroll ID order; close it to release the connection
+     */
+    public Stream<Payroll> streamAllPayrolls(int fetchSize) {
+        String sql = "SELECT p.*, e.employee_code, CONCAT(e.first_name, ' ', e.last_name) as employee_name " +
+                    "FROM payroll p " +
+                    "JOIN employees e ON p.employee_id = e.employee_id " +
+                    "ORDER BY p.payroll_id";
+        
+        Connection conn = null;
+        PreparedStatement stmt = null;
+        ResultSet rs = null;
+        try {
+            conn = DatabaseConnection.getConnection();
+            // Not served from the statement cache: the cursor stays open while the stream is consumed
+            stmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            stmt.setFetchSize(fetchSize);
+            rs = stmt.executeQuery();
+        } catch (SQLException e) {
+            closeQuietly(rs, stmt, conn);
+            System.err.println("Error streaming payrolls: " + e.getMessage());
+            throw new RuntimeException("Failed to stream payrolls: " + e.getMessage(), e);
+        }
+        
+        final Connection streamConn = conn;
+        final PreparedStatement streamStmt = stmt;
+        final ResultSet streamRs = rs;
+        
+        Spliterator<Payroll> rows = new Spliterators.AbstractSpliterator<Payroll>(
+                Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super Payroll> action) {
+                try {
+                    if (!streamRs.next()) {
+                        return false;
+                    }
+                    action.accept(mapResultSetToPayroll(streamRs));
+                    return true;
+                } catch (SQLException e) {
+                    throw new RuntimeException("Failed to read payroll row: " + e.getMessage(), e);
+                }
+            }
+        };
+        
+        return StreamSupport.stream(rows, false)
+                            .onClose(() -> closeQuietly(streamRs, streamStmt, streamConn));
+    }
+    
+    /**
+     * Close JDBC resources in reverse order of creation, ignoring nulls and errors
+     */
+    private void closeQuietly(AutoCloseable... resources) {
+        for (AutoCloseable resource : resources) {
+            if (resource != null) {
+                try {
+                    resource.close();
+                } catch (Exception e) {
+                    System.err.println("Error closing stream resource: " + e.getMessage());
+                }
+            }
+        }
+    }
+    
+    /**
+     * Bring a payroll column store up to date with the payroll table.
+     * Records created since the last call are appended; if any record already in the store was changed
+     * or deleted since (found from the record count and updated_at), the store is emptied and loaded again.
+     * updated_at only has whole seconds, so a change in the second the store was last checked in cannot be
+     * told apart from the records loaded then; the store is reloaded until it is checked in a later second.
+     * Department IDs are the employees' current departments. Calls for the same store run one at a time.
+     * @param store Store to update, empty for a full load
+     * @return Number of records appended, or -1 on error
+     */
+    public int loadPayrollColumns(PayrollColumnStore store) {
+        String checkSql = "SELECT COUNT(*), MAX(GREATEST(p.updated_at, e.updated_at)), NOW() " +
+                         "FROM payroll p " +
+                         "JOIN employees e ON p.employee_id = e.employee_id " +
+                         "WHERE p.payroll_id <= ?";
+        String sql = "SELECT p.payroll_id, p.employee_id, e.department_id, p.pay_period_start, p.pay_period_end, " +
+                    "p.gross_salary, p.total_deductions, p.net_salary, p.payment_status, " +
+                    "GREATEST(p.updated_at, e.updated_at) as modified_at " +
+                    "FROM payroll p " +
+                    "JOIN employees e ON p.employee_id = e.employee_id " +
+                    "WHERE p.payroll_id > ? " +
+                    "ORDER BY p.payroll_id";
+        
+        synchronized (store) {
+            try (Connection conn = DatabaseConnection.getConnection()) {
+                
+                long checkedAt;
+                try (PreparedStatement stmt = conn.prepareStatement(checkSql)) {
+                    stmt.setInt(1, store.getLastPayrollId());
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        rs.next();
+                        Timestamp modified = rs.getTimestamp(2);
+                        checkedAt = rs.getTimestamp(3).getTime();
+                        if (store.size() > 0 && (rs.getInt(1) != store.size()
+                                || (modified != null && isModifiedSince(modified.getTime(), store)))) {
+                            store.clear();
+                        }
+                    }
+                }
+                
+                // Not served from the statement cache: the fetch size must not carry over to other queries
+                try (PreparedStatement stmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY,
+                                                                    ResultSet.CONCUR_READ_ONLY)) {
+                    stmt.setFetchSize(DatabaseConfig.STREAM_FETCH_SIZE);
+                    stmt.setInt(1, store.getLastPayrollId());
+                    
+                    int appended = 0;
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            Timestamp modified = rs.getTimestamp("modified_at");
+                            store.append(rs.getInt("payroll_id"), rs.getInt("employee_id"), rs.getInt("department_id"),
+                                         rs.getDate("pay_period_start").toLocalDate(),
+                                         rs.getDate("pay_period_end").toLocalDate(),
+                                         Money.toCents(rs.getBigDecimal("gross_salary")),
+                                         Money.toCents(rs.getBigDecimal("total_deductions")),
+                                         Money.toCents(rs.getBigDecimal("net_salary")),
+                                         Payroll.PaymentStatus.valueOf(rs.getString("payment_status")),
+                                         modified != null ? modified.getTime() : 0);
+                            appended++;
+                        }
+                    }
+                    store.setCheckedAt(checkedAt);
+                    return appended;
+                }
+                
+            } catch (SQLException e) {
+                System.err.println("Error loading payroll columns: " + e.getMessage());
+            }
+        }
+        
+        return -1;
+    }
+    
+    /**
+     * @param modified Latest modification time of the records in the store, as now found in the database
+     * @return true if a record in the store may have changed since it was loaded
+     */
+    private boolean isModifiedSince(long modified, PayrollColumnStore store) {
+        long lastModified = store.getLastModified();
+        // Equal times are only safe if the store was checked after that second was over
+        return modified > lastModified || (modified == lastModified && store.getCheckedAt() <= lastModified);
+    }
+    
     /**
      * Get payroll records by employee
      * @param employeeId Employee ID
@@ -213,9 +862,19 @@ public class PayrollDAO {
      * Get payroll records by date range
      * @param startDate Start date
      * @param endDate End date
-     * @return List of payroll records within the date range
+     * @return List of payroll records within the date range, served from the report cache when the
+     *         payroll and employee tables have not changed; the list and its records must not be modified
      */
     public List<Payroll> getPayrollsByDateRange(Date startDate, Date endDate) {
+        List<Payroll> payrolls = reportCache.get("payrollsByDateRange", Arrays.asList(startDate, endDate),
+                                                 REPORT_TABLES, () -> loadPayrollsByDateRange(startDate, endDate));
+        return payrolls != null ? payrolls : Collections.<Payroll>emptyList();
+    }
+    
+    /**
+     * @return Payroll records in the range, or null if the query failed so the failure is not cached
+     */
+    private List<Payroll> loadPayrollsByDateRange(Date startDate, Date endDate) {
         List<Payroll> payrolls = new ArrayList<>();
         String sql = "SELECT p.*, e.employee_code, CONCAT(e.first_name, ' ', e.last_name) as employee_name " +
                     "FROM payroll p " +
@@ -236,9 +895,10 @@ public class PayrollDAO {
             
         } catch (SQLException e) {
             System.err.println("Error getting payrolls by date range: " + e.getMessage());
+            return null;
         }
         
-        return payrolls;
+        return Collections.unmodifiableList(payrolls);
     }
     
     /**
@@ -291,11 +951,219 @@ public class PayrollDAO {
             
         } catch (SQLException e) {
             System.err.println("Error updating payment status: " + e.getMessage());
+        } finally {
+            TableVersions.bump(TableVersions.PAYROLL);
         }
         
         return false;
     }
     
+    /**
+     * Move a set of payroll records from one payment status to another in a single transaction
+     * @param payrollIds Payroll IDs to update
+     * @param fromStatus Only records currently in this status are changed
+     * @param toStatus New payment status
+     * @param paymentDate Payment date (can be null)
+     * @return Number of records updated, or -1 if the update failed and was rolled back
+     */
+    public int updatePaymentStatus(Collection<Integer> payrollIds, Payroll.PaymentStatus fromStatus,
+                                   Payroll.PaymentStatus toStatus, Date paymentDate) {
+        if (payrollIds.isEmpty()) {
+            return 0;
+        }
+        
+        // Fixed-size IN lists keep the SQL text constant so the statement is prepared once
+        StringBuilder placeholders = new StringBuilder();
+        for (int i = 0; i < STATUS_UPDATE_CHUNK_SIZE; i++) {
+            placeholders.append(i == 0 ? "?" : ", ?");
+        }
+        String sql = "UPDATE payroll SET payment_status = ?, payment_date = ? " +
+                    "WHERE payment_status = ? AND payroll_id IN (" + placeholders + ")";
+        
+        Integer[] ids = payrollIds.toArray(new Integer[0]);
+        
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            int updated = 0;
+            
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                for (int start = 0; start < ids.length; start += STATUS_UPDATE_CHUNK_SIZE) {
+                    stmt.setString(1, toStatus.toString());
+                    stmt.setDate(2, paymentDate);
+                    stmt.setString(3, fromStatus.toString());
+                    for (int i = 0; i < STATUS_UPDATE_CHUNK_SIZE; i++) {
+                        // Pad the last chunk by repeating its final ID
+                        int index = Math.min(start + i, ids.length - 1);
+                        stmt.setInt(4 + i, ids[index]);
+                    }
+                    updated += stmt.executeUpdate();
+                }
+                conn.commit();
+                return updated;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+            
+        } catch (SQLException e) {
+            System.err.println("Error updating payment status in bulk: " + e.getMessage());
+        } finally {
+            TableVersions.bump(TableVersions.PAYROLL);
+        }
+        
+        return -1;
+    }
+    
+    /**
+     * Move every payroll record of a pay period from one payment status to another
+     * @param startDate Period start date
+     * @param endDate Period end date
+     * @param fromStatus Only records currently in this status are changed
+     * @param toStatus New payment status
+     * @param paymentDate Payment date (can be null)
+     * @return Number of records updated, or -1 if the update failed
+     */
+    public int updatePaymentStatusForPeriod(Date startDate, Date endDate, Payroll.PaymentStatus fromStatus,
+                                            Payroll.PaymentStatus toStatus, Date paymentDate) {
+        String sql = "UPDATE payroll SET payment_status = ?, payment_date = ? " +
+                    "WHERE payment_status = ? AND pay_period_start >= ? AND pay_period_end <= ?";
+        
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setString(1, toStatus.toString());
+            stmt.setDate(2, paymentDate);
+            stmt.setString(3, fromStatus.toString());
+            stmt.setDate(4, startDate);
+            stmt.setDate(5, endDate);
+            
+            return stmt.executeUpdate();
+            
+        } catch (SQLException e) {
+            System.err.println("Error updating payment status for period: " + e.getMessage());
+        } finally {
+            TableVersions.bump(TableVersions.PAYROLL);
+        }
+        
+        return -1;
+    }
+    
+    /**
+     * Move the payroll records of one department's employees in a pay period from one payment status to another
+     * @param departmentId Department ID
+     * @param startDate Period start date
+     * @param endDate Period end date
+     * @param fromStatus Only records currently in this status are changed
+     * @param toStatus New payment status
+     * @param paymentDate Payment date (can be null)
+     * @return Number of records updated, or -1 if the update failed
+     */
+    public int updatePaymentStatusForDepartment(int departmentId, Date startDate, Date endDate,
+                                                Payroll.PaymentStatus fromStatus, Payroll.PaymentStatus toStatus,
+                                                Date paymentDate) {
+        String sql = "UPDATE payroll p JOIN employees e ON p.employee_id = e.employee_id " +
+                    "SET p.payment_status = ?, p.payment_date = ? " +
+                    "WHERE p.payment_status = ? AND e.department_id = ? " +
+                    "AND p.pay_period_start >= ? AND p.pay_period_end <= ?";
+        
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setString(1, toStatus.toString());
+            stmt.setDate(2, paymentDate);
+            stmt.setString(3, fromStatus.toString());
+            stmt.setInt(4, departmentId);
+            stmt.setDate(5, startDate);
+            stmt.setDate(6, endDate);
+            
+            return stmt.executeUpdate();
+            
+        } catch (SQLException e) {
+            System.err.println("Error updating payment status for department: " + e.getMessage());
+        } finally {
+            TableVersions.bump(TableVersions.PAYROLL);
+        }
+        
+        return -1;
+    }
+    
+    /**
+     * Get payroll counts and salary totals for every payment status
+     * @return Payroll statistics across all records
+     */
+    public PayrollStatistics getPayrollStatistics() {
+        return getPayrollStatistics(null, null, null);
+    }
+    
+    /**
+     * Get payroll counts and salary totals by payment status, aggregated in the database
+     * @param startDate Only include periods ending on or after this date, or null for no lower bound
+     * @param endDate Only include periods ending on or before this date, or null for no upper bound
+     * @param departmentId Only include employees of this department, or null for all departments
+     * @return Payroll statistics, empty if an error occurs; the result is shared and must not be modified
+     */
+    public PayrollStatistics getPayrollStatistics(Date startDate, Date endDate, Integer departmentId) {
+        PayrollStatistics statistics = reportCache.get("payrollStatistics",
+                                                       Arrays.asList(startDate, endDate, departmentId),
+                                                       REPORT_TABLES,
+                                                       () -> loadPayrollStatistics(startDate, endDate, departmentId));
+        return statistics != null ? statistics : new PayrollStatistics();
+    }
+    
+    /**
+     * @return Payroll statistics, or null if the query failed so the failure is not cached
+     */
+    private PayrollStatistics loadPayrollStatistics(Date startDate, Date endDate, Integer departmentId) {
+        PayrollStatistics statistics = new PayrollStatistics();
+        StringBuilder sql = new StringBuilder(
+            "SELECT p.payment_status, COUNT(*) as record_count, " +
+            "SUM(p.gross_salary) as gross_total, SUM(p.net_salary) as net_total FROM payroll p");
+        if (departmentId != null) {
+            sql.append(" JOIN employees e ON p.employee_id = e.employee_id");
+        }
+        sql.append(" WHERE 1 = 1");
+        if (startDate != null) {
+            sql.append(" AND p.pay_period_end >= ?");
+        }
+        if (endDate != null) {
+            sql.append(" AND p.pay_period_end <= ?");
+        }
+        if (departmentId != null) {
+            sql.append(" AND e.department_id = ?");
+        }
+        sql.append(" GROUP BY p.payment_status");
+        
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+            
+            int index = 1;
+            if (startDate != null) {
+                stmt.setDate(index++, startDate);
+            }
+            if (endDate != null) {
+                stmt.setDate(index++, endDate);
+            }
+            if (departmentId != null) {
+                stmt.setInt(index++, departmentId);
+            }
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    statistics.setStatusTotals(Payroll.PaymentStatus.valueOf(rs.getString("payment_status")),
+                                               rs.getInt("record_count"),
+                                               rs.getBigDecimal("gross_total"),
+                                               rs.getBigDecimal("net_total"));
+                }
+            }
+            
+        } catch (SQLException e) {
+            System.err.println("Error getting payroll statistics: " + e.getMessage());
+            return null;
+        }
+        
+        return statistics;
+    }
+    
     /**
      * Check if payroll exists for employee in the given period
      * @param employeeId Employee ID
@@ -334,6 +1202,36 @@ public class PayrollDAO {
         return false;
     }
     
+    /**
+     * Find the employees that already have a payroll overlapping a period, in one query
+     * @param startDate Period start date
+     * @param endDate Period end date
+     * @return IDs of employees with at least one overlapping payroll record, or null if the query failed
+     */
+    public Set<Integer> getEmployeeIdsWithPayrollInPeriod(Date startDate, Date endDate) {
+        Set<Integer> employeeIds = new HashSet<>();
+        String sql = "SELECT DISTINCT employee_id FROM payroll WHERE pay_period_start <= ? AND pay_period_end >= ?";
+        
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setDate(1, endDate);
+            stmt.setDate(2, startDate);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    employeeIds.add(rs.getInt(1));
+                }
+            }
+            
+        } catch (SQLException e) {
+            System.err.println("Error getting employees with payroll in period: " + e.getMessage());
+            return null; // An empty set would mean "nobody is paid yet"
+        }
+        
+        return employeeIds;
+    }
+    
     /**
      * Map ResultSet to Payroll object
      * @param rs ResultSet
@@ -364,6 +1262,192 @@ public class PayrollDAO {
         payroll.setPaymentStatus(Payroll.PaymentStatus.valueOf(rs.getString("payment_status")));
         payroll.setCreatedBy(rs.getInt("created_by"));
         payroll.setCreatedAt(rs.getTimestamp("created_at"));
+        payroll.markClean();
         return payroll;
     }
-}
\ No newline at end of file
+    
+    /**
+     * Map ResultSet to PayrollSummary object
+     * @param rs ResultSet
+     * @return PayrollSummary object
+     * @throws SQLException if SQL error occurs
+     */
+    private PayrollSummary mapResultSetToPayrollSummary(ResultSet rs) throws SQLException {
+        PayrollSummary summary = new PayrollSummary();
+        summary.setPayrollId(rs.getInt("payroll_id"));
+        summary.setEmployeeCode(rs.getString("employee_code"));
+        summary.setEmployeeName(rs.getString("employee_name"));
+        summary.setPayPeriodStart(rs.getDate("pay_period_start"));
+        summary.setPayPeriodEnd(rs.getDate("pay_period_end"));
+        summary.setBaseSalary(rs.getBigDecimal("base_salary"));
+        summary.setOvertimePay(rs.getBigDecimal("overtime_pay"));
+        summary.setBonus(rs.getBigDecimal("bonus"));
+        summary.setGrossSalary(rs.getBigDecimal("gross_salary"));
+        summary.setTotalDeductions(rs.getBigDecimal("total_deductions"));
+        summary.setNetSalary(rs.getBigDecimal("net_salary"));
+        summary.setPaymentStatus(Payroll.PaymentStatus.valueOf(rs.getString("payment_status")));
+        summary.setPaymentDate(rs.getDate("payment_date"));
+        return summary;
+    }
+    
+    /**
+     * Columns payroll summaries can be sorted by
+     */
+    public enum SummarySort {
+        PAYROLL_ID("p.payroll_id", PayrollSummary::getPayrollId),
+        EMPLOYEE_CODE("e.employee_code", PayrollSummary::getEmployeeCode),
+        // WHERE cannot refer to the employee_name alias, so seeks repeat its expression
+        EMPLOYEE_NAME("employee_name", "CONCAT(e.first_name, ' ', e.last_name)", PayrollSummary::getEmployeeName),
+        PAY_PERIOD_START("p.pay_period_start", PayrollSummary::getPayPeriodStart),
+        PAY_PERIOD_END("p.pay_period_end", PayrollSummary::getPayPeriodEnd),
+        BASE_SALARY("p.base_salary", PayrollSummary::getBaseSalary),
+        OVERTIME_PAY("p.overtime_pay", PayrollSummary::getOvertimePay),
+        BONUS("p.bonus", PayrollSummary::getBonus),
+        GROSS_SALARY("p.gross_salary", PayrollSummary::getGrossSalary),
+        TOTAL_DEDUCTIONS("p.total_deductions", PayrollSummary::getTotalDeductions),
+        NET_SALARY("p.net_salary", PayrollSummary::getNetSalary),
+        // The ENUM sorts by its index, which "+ 0" exposes for comparisons (a string would compare by name)
+        PAYMENT_STATUS("p.payment_status", "p.payment_status + 0",
+                       summary -> summary.getPaymentStatus() != null ? summary.getPaymentStatus().ordinal() + 1 : null),
+        PAYMENT_DATE("p.payment_date", PayrollSummary::getPaymentDate);
+        
+        private final String column;
+        private final String seekColumn;
+        private final Function<PayrollSummary, Object> key;
+        
+        SummarySort(String column, Function<PayrollSummary, Object> key) {
+            this(column, column, key);
+        }
+        
+        SummarySort(String column, String seekColumn, Function<PayrollSummary, Object> key) {
+            this.column = column;
+            this.seekColumn = seekColumn;
+            this.key = key;
+        }
+        
+        String getColumn() {
+            return column;
+        }
+        
+        /**
+         * @return Expression comparing the way {@link #getColumn()} sorts, usable in a WHERE clause
+         */
+        String getSeekColumn() {
+            return seekColumn;
+        }
+        
+        /**
+         * @return Sort value of a summary, as bound against {@link #getSeekColumn()}
+         */
+        Object getKey(PayrollSummary summary) {
+            return key.apply(summary);
+        }
+    }
+    
+    /**
+     * Filter and sort order for windowed payroll summary queries
+     */
+    public static class SummaryQuery {
+        private final String searchText;
+        private final Payroll.PaymentStatus status;
+        private final SummarySort sort;
+        private final boolean ascending;
+        
+        /**
+         * @param searchText Text the employee code or name must contain, or null/blank for any
+         * @param status Payment status to match, or null for any
+         * @param sort Column to sort by
+         * @param ascending true for ascending order
+         */
+        public SummaryQuery(String searchText, Payroll.PaymentStatus status, SummarySort sort, boolean ascending) {
+            this.searchText = searchText == null || searchText.trim().isEmpty() ? null : searchText.trim();
+            this.status = status;
+            this.sort = sort;
+            this.ascending = ascending;
+        }
+        
+        /**
+         * @return Newest pay periods first, unfiltered
+         */
+        public static SummaryQuery defaultQuery() {
+            return new SummaryQuery(null, null, SummarySort.PAY_PERIOD_END, false);
+        }
+        
+        public SummaryQuery withFilter(String searchText, Payroll.PaymentStatus status) {
+            return new SummaryQuery(searchText, status, sort, ascending);
+        }
+        
+        public SummaryQuery withSort(SummarySort sort, boolean ascending) {
+            return new SummaryQuery(searchText, status, sort, ascending);
+        }
+        
+        public String getSearchText() {
+            return searchText;
+        }
+        
+        public Payroll.PaymentStatus getStatus() {
+            return status;
+        }
+        
+        public SummarySort getSort() {
+            return sort;
+        }
+        
+        public boolean isAscending() {
+            return ascending;
+        }
+        
+        /**
+         * @return true if the query filters out any rows
+         */
+        public boolean isFiltered() {
+            return searchText != null || status != null;
+        }
+    }
+    
+    /**
+     * Outcome of a batched payroll insert
+     */
+    public static class BatchResult {
+        private final int[] generatedIds;
+        private final Map<Integer, String> failures = new TreeMap<>();
+        private String batchError;
+        
+        BatchResult(int size) {
+            this.generatedIds = new int[size];
+        }
+        
+        /**
+         * @return Generated payroll IDs in input order (all 0 if the batch was rolled back)
+         */
+        public int[] getGeneratedIds() {
+            return generatedIds.clone();
+        }
+        
+        /**
+         * @return Error message per failed row, keyed by index in the input list
+         */
+        public Map<Integer, String> getFailures() {
+            return Collections.unmodifiableMap(failures);
+        }
+        
+        /**
+         * @return Error that aborted the whole batch (e.g. connection failure), or null
+         */
+        public String getBatchError() {
+            return batchError;
+        }
+        
+        public boolean hasFailures() {
+            return !failures.isEmpty() || batchError != null;
+        }
+        
+        public boolean isSuccessful() {
+            return !hasFailures();
+        }
+        
+        public int getInsertedCount() {
+            return hasFailures() ? 0 : generatedIds.length;
+        }
+    }
+}
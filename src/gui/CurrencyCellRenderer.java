@@ -0,0 +1,24 @@
+package gui;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableCellRenderer;
+import java.math.RoundingMode;
+import java.text.DecimalFormat;
+
+/**
+ * Renders BigDecimal amounts as "$1234.56", right-aligned.
+ * The formatter is created once per renderer; renderers are only used on the event thread.
+ */
+public class CurrencyCellRenderer extends DefaultTableCellRenderer {
+    private final DecimalFormat format = new DecimalFormat("$0.00");
+    
+    public CurrencyCellRenderer() {
+        format.setRoundingMode(RoundingMode.HALF_UP);
+        setHorizontalAlignment(SwingConstants.RIGHT);
+    }
+    
+    @Override
+    protected void setValue(Object value) {
+        setText(value != null ? format.format(value) : "");
+    }
+}
@@ -0,0 +1,19 @@
+package gui;
+
+import config.DatabaseConfig;
+
+import javax.swing.table.DefaultTableCellRenderer;
+import java.text.SimpleDateFormat;
+
+/**
+ * Renders dates in the application date format, blank when missing.
+ * The formatter is created once per renderer; renderers are only used on the event thread.
+ */
+public class DateCellRenderer extends DefaultTableCellRenderer {
+    private final SimpleDateFormat format = new SimpleDateFormat(DatabaseConfig.DATE_FORMAT);
+    
+    @Override
+    protected void setValue(Object value) {
+        setText(value != null ? format.format(value) : "");
+    }
+}
@@ -4,17 +4,18 @@ import dao.DepartmentDAO;
 import dao.EmployeeDAO;
 import models.Department;
 import models.Employee;
+import models.EmployeeSummary;
 import models.User;
+import utils.NGramIndex;
+import utils.TypedRowSorter;
 import utils.ValidationUtils;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
-import javax.swing.table.TableRowSorter;
 import java.awt.*;
 import java.math.BigDecimal;
 import java.sql.Date;
-import java.text.SimpleDateFormat;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Panel for managing employees
@@ -27,17 +28,12 @@ public class EmployeeManagementPanel extends JPanel {
     
     // Components
     private JTable employeeTable;
-    private DefaultTableModel tableModel;
-    private TableRowSorter<DefaultTableModel> tableSorter;
+    private EmployeeTableModel tableModel;
+    private TypedRowSorter<EmployeeTableModel> tableSorter;
     private JTextField searchField;
     private JButton addButton, editButton, deleteButton, refreshButton;
     private JLabel totalEmployeesLabel;
-    
-    // Table columns
-    private final String[] columnNames = {
-        "ID", "Employee Code", "First Name", "Last Name", "Email", 
-        "Phone", "Department", "Position", "Base Salary", "Status", "Hire Date"
-    };
+    private final NGramIndex searchIndex = new NGramIndex();
     
     public EmployeeManagementPanel(User user) {
         this.currentUser = user;
@@ -53,20 +49,17 @@ public class EmployeeManagementPanel extends JPanel {
     
     private void initializeComponents() {
         // Create table
-        tableModel = new DefaultTableModel(columnNames, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false; // Make table read-only
-            }
-        };
+        tableModel = new EmployeeTableModel();
         
         employeeTable = new JTable(tableModel);
+        employeeTable.setDefaultRenderer(BigDecimal.class, new CurrencyCellRenderer());
+        employeeTable.setDefaultRenderer(java.util.Date.class, new DateCellRenderer());
         employeeTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
         employeeTable.setRowHeight(25);
         employeeTable.getTableHeader().setReorderingAllowed(false);
         
         // Setup table sorter
-        tableSorter = new TableRowSorter<>(tableModel);
+        tableSorter = new TypedRowSorter<>(tableModel);
         employeeTable.setRowSorter(tableSorter);
         
         // Hide ID column
@@ -206,22 +199,28 @@ public class EmployeeManagementPanel extends JPanel {
         if (searchText.isEmpty()) {
             tableSorter.setRowFilter(null);
         } else {
-            tableSorter.setRowFilter(RowFilter.regexFilter("(?i)" + searchText));
+            Set<Integer> matchingIds = searchIndex.search(searchText);
+            tableSorter.setRowFilter(new RowFilter<EmployeeTableModel, Integer>() {
+                @Override
+                public boolean include(Entry<? extends EmployeeTableModel, ? extends Integer> entry) {
+                    return matchingIds.contains(entry.getModel().getEmployeeAt(entry.getIdentifier()).getEmployeeId());
+                }
+            });
         }
         updateEmployeeCount();
     }
     
     private void loadEmployeeData() {
-        SwingWorker<List<Employee>, Void> worker = new SwingWorker<List<Employee>, Void>() {
+        SwingWorker<List<EmployeeSummary>, Void> worker = new SwingWorker<List<EmployeeSummary>, Void>() {
             @Override
-            protected List<Employee> doInBackground() throws Exception {
-                return employeeDAO.getAllEmployees();
+            protected List<EmployeeSummary> doInBackground() throws Exception {
+                return employeeDAO.getAllEmployeeSummaries();
             }
             
             @Override
             protected void done() {
                 try {
-                    List<Employee> employees = get();
+                    List<EmployeeSummary> employees = get();
                     updateTable(employees);
                 } catch (Exception e) {
                     JOptionPane.showMessageDialog(EmployeeManagementPanel.this,
@@ -234,28 +233,40 @@ public class EmployeeManagementPanel extends JPanel {
         worker.execute();
     }
     
-    private void updateTable(List<Employee> employees) {
-        tableModel.setRowCount(0);
-        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
-        
-        for (Employee employee : employees) {
-            Object[] row = {
-                employee.getEmployeeId(),
-                employee.getEmployeeCode(),
-                employee.getFirstName(),
-                employee.getLastName(),
-                employee.getEmail(),
-                employee.getPhone(),
-                employee.getDepartmentName(),
-                employee.getPosition(),
-                String.format("$%.2f", employee.getBaseSalary()),
-                employee.getEmploymentStatus(),
-                employee.getHireDate() != null ? dateFormat.format(employee.getHireDate()) : ""
-            };
-            tableModel.addRow(row);
+    private void updateTable(List<EmployeeSummary> employees) {
+        tableModel.setEmployees(employees);
+        searchIndex.clear();
+        for (EmployeeSummary employee : employees) {
+            indexEmployee(employee);
         }
         
-        updateEmployeeCount();
+        filterTable();
+    }
+    
+    private void indexEmployee(EmployeeSummary employee) {
+        searchIndex.put(employee.getEmployeeId(),
+            employee.getEmployeeCode(),
+            employee.getFullName(),
+            employee.getEmail(),
+            employee.getPosition(),
+            employee.getDepartmentName());
+    }
+    
+    /**
+     * Bring one employee's row and search index entry up to date after an edit, without reloading the table
+     */
+    private void applyEmployeeChange(int employeeId, EmployeeSummary employee) {
+        boolean listed = employee != null && employee.getEmploymentStatus() == Employee.EmploymentStatus.ACTIVE;
+        
+        if (!listed) {
+            searchIndex.remove(employeeId);
+            tableModel.removeEmployee(employeeId);
+        } else {
+            tableModel.putEmployee(employee);
+            indexEmployee(employee);
+        }
+        
+        filterTable();
     }
     
     private void updateEmployeeCount() {
@@ -274,7 +285,24 @@ public class EmployeeManagementPanel extends JPanel {
         dialog.setVisible(true);
         
         if (dialog.isConfirmed()) {
-            refreshData();
+            int employeeId = dialog.getSavedEmployee().getEmployeeId();
+            SwingWorker<Employee, Void> worker = new SwingWorker<Employee, Void>() {
+                @Override
+                protected Employee doInBackground() throws Exception {
+                    return employeeDAO.getEmployeeById(employeeId);
+                }
+                
+                @Override
+                protected void done() {
+                    try {
+                        Employee saved = get();
+                        applyEmployeeChange(employeeId, saved != null ? EmployeeSummary.from(saved) : null);
+                    } catch (Exception e) {
+                        refreshData();
+                    }
+                }
+            };
+            worker.execute();
         }
     }
     
@@ -284,7 +312,7 @@ public class EmployeeManagementPanel extends JPanel {
         
         // Convert view row to model row
         int modelRow = employeeTable.convertRowIndexToModel(selectedRow);
-        int employeeId = (Integer) tableModel.getValueAt(modelRow, 0);
+        int employeeId = tableModel.getEmployeeAt(modelRow).getEmployeeId();
         
         // Load employee details
         SwingWorker<Employee, Void> worker = new SwingWorker<Employee, Void>() {
@@ -322,8 +350,9 @@ public class EmployeeManagementPanel extends JPanel {
         
         // Convert view row to model row
         int modelRow = employeeTable.convertRowIndexToModel(selectedRow);
-        String employeeCode = (String) tableModel.getValueAt(modelRow, 1);
-        String employeeName = tableModel.getValueAt(modelRow, 2) + " " + tableModel.getValueAt(modelRow, 3);
+        EmployeeSummary employee = tableModel.getEmployeeAt(modelRow);
+        String employeeCode = employee.getEmployeeCode();
+        String employeeName = employee.getFirstName() + " " + employee.getLastName();
         
         int option = JOptionPane.showConfirmDialog(this,
             "Are you sure you want to delete employee " + employeeCode + " (" + employeeName + ")?\n" +
@@ -333,7 +362,7 @@ public class EmployeeManagementPanel extends JPanel {
             JOptionPane.WARNING_MESSAGE);
         
         if (option == JOptionPane.YES_OPTION) {
-            int employeeId = (Integer) tableModel.getValueAt(modelRow, 0);
+            int employeeId = employee.getEmployeeId();
             
             SwingWorker<Boolean, Void> worker = new SwingWorker<Boolean, Void>() {
                 @Override
@@ -350,7 +379,7 @@ public class EmployeeManagementPanel extends JPanel {
                                 "Employee deleted successfully.",
                                 "Success",
                                 JOptionPane.INFORMATION_MESSAGE);
-                            refreshData();
+                            applyEmployeeChange(employeeId, null);
                         } else {
                             JOptionPane.showMessageDialog(EmployeeManagementPanel.this,
                                 "Failed to delete employee.",
@@ -396,6 +425,7 @@ public class EmployeeManagementPanel extends JPanel {
         private Employee employee;
         private User dialogCurrentUser;
         private boolean confirmed = false;
+        private Employee savedEmployee;
         
         // Form components
         private JTextField employeeCodeField;
@@ -668,6 +698,7 @@ public class EmployeeManagementPanel extends JPanel {
                             boolean success = get();
                             if (success) {
                                 confirmed = true;
+                                savedEmployee = emp;
                                 dispose();
                             } else {
                                 JOptionPane.showMessageDialog(EmployeeDialog.this,
@@ -803,6 +834,10 @@ public class EmployeeManagementPanel extends JPanel {
             return confirmed;
         }
         
+        public Employee getSavedEmployee() {
+            return savedEmployee;
+        }
+        
         private void applyRoleBasedRestrictions() {
             // Apply restrictions based on user role
             if (dialogCurrentUser != null) {
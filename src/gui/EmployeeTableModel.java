@@ -0,0 +1,127 @@
+package gui;
+
+import models.Employee;
+import models.EmployeeSummary;
+
+import javax.swing.table.AbstractTableModel;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Table model over a list of employee summaries.
+ * Cells hold the raw values (salary as BigDecimal, dates as Date); formatting is left to the renderers
+ * so only visible cells are ever formatted.
+ */
+public class EmployeeTableModel extends AbstractTableModel {
+    public static final int COLUMN_ID = 0;
+    
+    private static final String[] COLUMN_NAMES = {
+        "ID", "Employee Code", "First Name", "Last Name", "Email", "Phone",
+        "Department", "Position", "Base Salary", "Status", "Hire Date"
+    };
+    
+    private static final Class<?>[] COLUMN_CLASSES = {
+        Integer.class, String.class, String.class, String.class, String.class, String.class,
+        String.class, String.class, BigDecimal.class, Employee.EmploymentStatus.class, Date.class
+    };
+    
+    private List<EmployeeSummary> employees = new ArrayList<>();
+    
+    /**
+     * Replace the rows of the table
+     * @param employees Employee summaries to show
+     */
+    public void setEmployees(List<EmployeeSummary> employees) {
+        this.employees = new ArrayList<>(employees);
+        fireTableDataChanged();
+    }
+    
+    /**
+     * @param row Model row index
+     * @return Employee summary shown in the row
+     */
+    public EmployeeSummary getEmployeeAt(int row) {
+        return employees.get(row);
+    }
+    
+    /**
+     * @param employeeId Employee ID
+     * @return Model row of the employee, or -1 if not shown
+     */
+    public int indexOf(int employeeId) {
+        for (int row = 0; row < employees.size(); row++) {
+            if (employees.get(row).getEmployeeId() == employeeId) {
+                return row;
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * Replace the row of an employee, or append it if it is not shown yet
+     * @param employee Employee summary
+     */
+    public void putEmployee(EmployeeSummary employee) {
+        int row = indexOf(employee.getEmployeeId());
+        if (row != -1) {
+            employees.set(row, employee);
+            fireTableRowsUpdated(row, row);
+        } else {
+            employees.add(employee);
+            fireTableRowsInserted(employees.size() - 1, employees.size() - 1);
+        }
+    }
+    
+    /**
+     * Remove the row of an employee if it is shown
+     * @param employeeId Employee ID
+     */
+    public void removeEmployee(int employeeId) {
+        int row = indexOf(employeeId);
+        if (row != -1) {
+            employees.remove(row);
+            fireTableRowsDeleted(row, row);
+        }
+    }
+    
+    @Override
+    public int getRowCount() {
+        return employees.size();
+    }
+    
+    @Override
+    public int getColumnCount() {
+        return COLUMN_NAMES.length;
+    }
+    
+    @Override
+    public String getColumnName(int column) {
+        return COLUMN_NAMES[column];
+    }
+    
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return COLUMN_CLASSES[column];
+    }
+    
+    @Override
+    public Object getValueAt(int row, int column) {
+        EmployeeSummary employee = employees.get(row);
+        switch (column) {
+            case 0: return employee.getEmployeeId();
+            case 1: return employee.getEmployeeCode();
+            case 2: return employee.getFirstName();
+            case 3: return employee.getLastName();
+            case 4: return employee.getEmail();
+            case 5: return employee.getPhone();
+            case 6: return employee.getDepartmentName();
+            case 7: return employee.getPosition();
+            case 8: return employee.getBaseSalary();
+            case 9: return employee.getEmploymentStatus();
+            case 10: return employee.getHireDate();
+            default: return null;
+        }
+    }
+}
@@ -1,19 +1,23 @@
 package gui;
 
+import config.DatabaseConfig;
 import dao.EmployeeDAO;
 import dao.PayrollDAO;
 import models.Employee;
 import models.Payroll;
+import models.PayrollSummary;
 import models.User;
+import utils.PayrollRunEngine;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
-import javax.swing.table.TableRowSorter;
 import java.awt.*;
 import java.math.BigDecimal;
 import java.sql.Date;
-import java.text.SimpleDateFormat;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Panel for managing payroll
@@ -26,18 +30,12 @@ public class PayrollManagementPanel extends JPanel {
     
     // Components
     private JTable payrollTable;
-    private DefaultTableModel tableModel;
-    private TableRowSorter<DefaultTableModel> tableSorter;
+    private PayrollTableModel tableModel;
     private JTextField searchField;
     private JComboBox<String> statusFilter;
-    private JButton addButton, editButton, deleteButton, refreshButton, markPaidButton;
+    private JButton addButton, runPayrollButton, editButton, deleteButton, refreshButton, markPaidButton;
     private JLabel totalPayrollsLabel;
-    
-    // Table columns
-    private final String[] columnNames = {
-        "ID", "Employee Code", "Employee Name", "Pay Period Start", "Pay Period End",
-        "Base Salary", "Overtime Pay", "Bonus", "Gross Salary", "Deductions", "Net Salary", "Status", "Payment Date"
-    };
+    private Timer searchDebounceTimer;
     
     public PayrollManagementPanel(User user) {
         this.currentUser = user;
@@ -52,21 +50,22 @@ public class PayrollManagementPanel extends JPanel {
     
     private void initializeComponents() {
         // Create table
-        tableModel = new DefaultTableModel(columnNames, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false; // Make table read-only
-            }
-        };
+        tableModel = new PayrollTableModel(payrollDAO,
+            error -> JOptionPane.showMessageDialog(PayrollManagementPanel.this,
+                "Error loading payroll data: " + error.getMessage(),
+                "Error",
+                JOptionPane.ERROR_MESSAGE));
+        tableModel.addTableModelListener(e -> updatePayrollCount());
         
         payrollTable = new JTable(tableModel);
-        payrollTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        payrollTable.setDefaultRenderer(BigDecimal.class, new CurrencyCellRenderer());
+        payrollTable.setDefaultRenderer(java.util.Date.class, new DateCellRenderer());
+        payrollTable.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
         payrollTable.setRowHeight(25);
         payrollTable.getTableHeader().setReorderingAllowed(false);
         
-        // Setup table sorter
-        tableSorter = new TableRowSorter<>(tableModel);
-        payrollTable.setRowSorter(tableSorter);
+        // Setup table sorter; rows are sorted by the database
+        payrollTable.setRowSorter(new PayrollTableSorter(tableModel));
         
         // Hide ID column
         payrollTable.getColumnModel().getColumn(0).setMinWidth(0);
@@ -95,15 +94,19 @@ public class PayrollManagementPanel extends JPanel {
         statusFilter.setToolTipText("Filter by payment status");
         
         addButton = new JButton("Add Payroll");
+        runPayrollButton = new JButton("Run Payroll");
+        runPayrollButton.setToolTipText("Create payroll for all active employees for a pay period");
         editButton = new JButton("Edit Payroll");
         deleteButton = new JButton("Delete Payroll");
         markPaidButton = new JButton("Mark as Paid");
+        markPaidButton.setToolTipText("Mark all selected pending payrolls as paid");
         refreshButton = new JButton("Refresh");
         
         totalPayrollsLabel = new JLabel("Total Payrolls: 0");
         
         // Set button properties
         addButton.setPreferredSize(new Dimension(120, 30));
+        runPayrollButton.setPreferredSize(new Dimension(120, 30));
         editButton.setPreferredSize(new Dimension(120, 30));
         deleteButton.setPreferredSize(new Dimension(120, 30));
         markPaidButton.setPreferredSize(new Dimension(120, 30));
@@ -133,6 +136,7 @@ public class PayrollManagementPanel extends JPanel {
         // Button panel
         JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
         buttonPanel.add(addButton);
+        buttonPanel.add(runPayrollButton);
         buttonPanel.add(editButton);
         buttonPanel.add(deleteButton);
         buttonPanel.add(markPaidButton);
@@ -157,20 +161,23 @@ public class PayrollManagementPanel extends JPanel {
     
     private void setupEventHandlers() {
         // Search functionality
+        // Wait for a pause in typing so a burst of keystrokes filters the table once
+        searchDebounceTimer = new Timer(DatabaseConfig.SEARCH_DEBOUNCE_DELAY, e -> filterTable());
+        searchDebounceTimer.setRepeats(false);
         searchField.getDocument().addDocumentListener(new javax.swing.event.DocumentListener() {
             @Override
             public void insertUpdate(javax.swing.event.DocumentEvent e) {
-                filterTable();
+                searchDebounceTimer.restart();
             }
             
             @Override
             public void removeUpdate(javax.swing.event.DocumentEvent e) {
-                filterTable();
+                searchDebounceTimer.restart();
             }
             
             @Override
             public void changedUpdate(javax.swing.event.DocumentEvent e) {
-                filterTable();
+                searchDebounceTimer.restart();
             }
         });
         
@@ -180,23 +187,20 @@ public class PayrollManagementPanel extends JPanel {
         // Table selection listener
         payrollTable.getSelectionModel().addListSelectionListener(e -> {
             if (!e.getValueIsAdjusting()) {
-                boolean hasSelection = payrollTable.getSelectedRow() != -1;
-                editButton.setEnabled(hasSelection);
-                deleteButton.setEnabled(hasSelection);
+                boolean singleSelection = payrollTable.getSelectedRowCount() == 1;
+                editButton.setEnabled(singleSelection);
+                deleteButton.setEnabled(singleSelection);
                 
-                // Enable mark paid button only for pending payrolls
-                if (hasSelection) {
-                    int modelRow = payrollTable.convertRowIndexToModel(payrollTable.getSelectedRow());
-                    String status = (String) tableModel.getValueAt(modelRow, 11);
-                    markPaidButton.setEnabled("PENDING".equals(status));
-                } else {
-                    markPaidButton.setEnabled(false);
-                }
+                // Enable mark paid button only when pending payrolls are selected; rows that are not
+                // loaded may be pending, they are looked up when the button is pressed
+                List<Integer> pendingIds = getSelectedPendingPayrollIds();
+                markPaidButton.setEnabled(pendingIds == null || !pendingIds.isEmpty());
             }
         });
         
         // Button listeners
         addButton.addActionListener(e -> showPayrollDialog(null));
+        runPayrollButton.addActionListener(e -> showPayrollRunDialog());
         editButton.addActionListener(e -> editSelectedPayroll());
         deleteButton.addActionListener(e -> deleteSelectedPayroll());
         markPaidButton.addActionListener(e -> markSelectedPayrollAsPaid());
@@ -214,90 +218,25 @@ public class PayrollManagementPanel extends JPanel {
     }
     
     private void filterTable() {
-        String searchText = searchField.getText().trim();
+        searchDebounceTimer.stop();
         String statusText = (String) statusFilter.getSelectedItem();
+        Payroll.PaymentStatus status = "All".equals(statusText) ? null : Payroll.PaymentStatus.valueOf(statusText);
         
-        RowFilter<DefaultTableModel, Object> searchFilter = null;
-        RowFilter<DefaultTableModel, Object> statusFilterObj = null;
-        
-        if (!searchText.isEmpty()) {
-            searchFilter = RowFilter.regexFilter("(?i)" + searchText, 1, 2); // Employee Code and Name columns
-        }
-        
-        if (!"All".equals(statusText)) {
-            statusFilterObj = RowFilter.regexFilter(statusText, 11); // Status column
-        }
-        
-        if (searchFilter != null && statusFilterObj != null) {
-            tableSorter.setRowFilter(RowFilter.andFilter(java.util.Arrays.asList(searchFilter, statusFilterObj)));
-        } else if (searchFilter != null) {
-            tableSorter.setRowFilter(searchFilter);
-        } else if (statusFilterObj != null) {
-            tableSorter.setRowFilter(statusFilterObj);
-        } else {
-            tableSorter.setRowFilter(null);
-        }
-        
-        updatePayrollCount();
+        tableModel.setFilter(searchField.getText(), status);
     }
     
     private void loadPayrollData() {
-        SwingWorker<List<Payroll>, Void> worker = new SwingWorker<List<Payroll>, Void>() {
-            @Override
-            protected List<Payroll> doInBackground() throws Exception {
-                return payrollDAO.getAllPayrolls();
-            }
-            
-            @Override
-            protected void done() {
-                try {
-                    List<Payroll> payrolls = get();
-                    updateTable(payrolls);
-                } catch (Exception e) {
-                    JOptionPane.showMessageDialog(PayrollManagementPanel.this,
-                        "Error loading payroll data: " + e.getMessage(),
-                        "Error",
-                        JOptionPane.ERROR_MESSAGE);
-                }
-            }
-        };
-        worker.execute();
-    }
-    
-    private void updateTable(List<Payroll> payrolls) {
-        tableModel.setRowCount(0);
-        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
-        
-        for (Payroll payroll : payrolls) {
-            Object[] row = {
-                payroll.getPayrollId(),
-                payroll.getEmployeeCode(),
-                payroll.getEmployeeName(),
-                payroll.getPayPeriodStart() != null ? dateFormat.format(payroll.getPayPeriodStart()) : "",
-                payroll.getPayPeriodEnd() != null ? dateFormat.format(payroll.getPayPeriodEnd()) : "",
-                String.format("$%.2f", payroll.getBaseSalary()),
-                String.format("$%.2f", payroll.getOvertimePay()),
-                String.format("$%.2f", payroll.getBonus()),
-                String.format("$%.2f", payroll.getGrossSalary()),
-                String.format("$%.2f", payroll.getTotalDeductions()),
-                String.format("$%.2f", payroll.getNetSalary()),
-                payroll.getPaymentStatus().toString(),
-                payroll.getPaymentDate() != null ? dateFormat.format(payroll.getPaymentDate()) : ""
-            };
-            tableModel.addRow(row);
-        }
-        
-        updatePayrollCount();
+        // A refresh while the previous load is still running discards that load
+        tableModel.reload();
     }
     
     private void updatePayrollCount() {
-        int totalRows = tableModel.getRowCount();
-        int visibleRows = payrollTable.getRowCount();
+        int rows = tableModel.getRowCount();
         
-        if (visibleRows == totalRows) {
-            totalPayrollsLabel.setText("Total Payrolls: " + totalRows);
+        if (tableModel.isFiltered()) {
+            totalPayrollsLabel.setText("Matching Payrolls: " + rows);
         } else {
-            totalPayrollsLabel.setText("Showing " + visibleRows + " of " + totalRows + " payrolls");
+            totalPayrollsLabel.setText("Total Payrolls: " + rows);
         }
     }
     
@@ -310,13 +249,24 @@ public class PayrollManagementPanel extends JPanel {
         }
     }
     
+    private void showPayrollRunDialog() {
+        PayrollRunDialog dialog = new PayrollRunDialog((Frame) SwingUtilities.getWindowAncestor(this));
+        dialog.setVisible(true);
+        
+        if (dialog.hasCreatedPayrolls()) {
+            refreshData();
+        }
+    }
+    
     private void editSelectedPayroll() {
         int selectedRow = payrollTable.getSelectedRow();
         if (selectedRow == -1) return;
         
         // Convert view row to model row
         int modelRow = payrollTable.convertRowIndexToModel(selectedRow);
-        int payrollId = (Integer) tableModel.getValueAt(modelRow, 0);
+        PayrollSummary summary = tableModel.getPayrollAt(modelRow);
+        if (summary == null) return; // Row not loaded yet
+        int payrollId = summary.getPayrollId();
         
         // Load payroll details
         SwingWorker<Payroll, Void> worker = new SwingWorker<Payroll, Void>() {
@@ -354,9 +304,11 @@ public class PayrollManagementPanel extends JPanel {
         
         // Convert view row to model row
         int modelRow = payrollTable.convertRowIndexToModel(selectedRow);
-        String employeeCode = (String) tableModel.getValueAt(modelRow, 1);
-        String employeeName = (String) tableModel.getValueAt(modelRow, 2);
-        String payPeriod = tableModel.getValueAt(modelRow, 3) + " to " + tableModel.getValueAt(modelRow, 4);
+        PayrollSummary payroll = tableModel.getPayrollAt(modelRow);
+        if (payroll == null) return; // Row not loaded yet
+        String employeeCode = payroll.getEmployeeCode();
+        String employeeName = payroll.getEmployeeName();
+        String payPeriod = payroll.getPayPeriodStart() + " to " + payroll.getPayPeriodEnd();
         
         int option = JOptionPane.showConfirmDialog(this,
             "Are you sure you want to delete the payroll record for:\n" +
@@ -368,7 +320,7 @@ public class PayrollManagementPanel extends JPanel {
             JOptionPane.WARNING_MESSAGE);
         
         if (option == JOptionPane.YES_OPTION) {
-            int payrollId = (Integer) tableModel.getValueAt(modelRow, 0);
+            int payrollId = payroll.getPayrollId();
             
             SwingWorker<Boolean, Void> worker = new SwingWorker<Boolean, Void>() {
                 @Override
@@ -404,20 +356,150 @@ public class PayrollManagementPanel extends JPanel {
         }
     }
     
+    /**
+     * @return IDs of the selected pending payrolls, or null if some selected rows are not loaded
+     */
+    private List<Integer> getSelectedPendingPayrollIds() {
+        List<Integer> payrollIds = new ArrayList<>();
+        for (int[] range : getSelectedRowRanges()) {
+            if (!addLoadedPendingPayrollIds(range, payrollIds)) {
+                return null;
+            }
+        }
+        return payrollIds;
+    }
+    
+    /**
+     * Add the IDs of the pending payrolls in a range of model rows, if all of its rows are loaded
+     * @return false if some rows of the range are not loaded; nothing is added then
+     */
+    private boolean addLoadedPendingPayrollIds(int[] range, List<Integer> payrollIds) {
+        List<Integer> rangeIds = new ArrayList<>();
+        for (int row = range[0]; row < range[0] + range[1]; row++) {
+            PayrollSummary payroll = tableModel.getPayrollAt(row);
+            if (payroll == null) {
+                return false;
+            }
+            if (payroll.getPaymentStatus() == Payroll.PaymentStatus.PENDING) {
+                rangeIds.add(payroll.getPayrollId());
+            }
+        }
+        payrollIds.addAll(rangeIds);
+        return true;
+    }
+    
+    /**
+     * @return Selected model rows as contiguous ranges of {first row, row count}, in ascending order
+     */
+    private List<int[]> getSelectedRowRanges() {
+        int[] rows = payrollTable.getSelectedRows();
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = payrollTable.convertRowIndexToModel(rows[i]);
+        }
+        Arrays.sort(rows);
+        
+        List<int[]> ranges = new ArrayList<>();
+        int[] range = null;
+        for (int row : rows) {
+            if (range != null && range[0] + range[1] == row) {
+                range[1]++;
+            } else {
+                range = new int[] {row, 1};
+                ranges.add(range);
+            }
+        }
+        return ranges;
+    }
+    
+    private PayrollSummary findSelectedPayroll(int payrollId) {
+        for (int selectedRow : payrollTable.getSelectedRows()) {
+            PayrollSummary payroll = tableModel.getPayrollAt(payrollTable.convertRowIndexToModel(selectedRow));
+            if (payroll != null && payroll.getPayrollId() == payrollId) {
+                return payroll;
+            }
+        }
+        return null;
+    }
+    
     private void markSelectedPayrollAsPaid() {
-        int selectedRow = payrollTable.getSelectedRow();
-        if (selectedRow == -1) return;
+        // Ranges with rows that were never loaded (e.g. after Ctrl+A) are resolved by the database,
+        // by position in the table's query, so the selection is marked as a whole
+        List<Integer> loadedIds = new ArrayList<>();
+        List<int[]> unloadedRanges = new ArrayList<>();
+        for (int[] range : getSelectedRowRanges()) {
+            if (!addLoadedPendingPayrollIds(range, loadedIds)) {
+                unloadedRanges.add(range);
+            }
+        }
+        if (unloadedRanges.isEmpty()) {
+            confirmMarkAsPaid(loadedIds);
+            return;
+        }
         
-        // Convert view row to model row
-        int modelRow = payrollTable.convertRowIndexToModel(selectedRow);
-        int payrollId = (Integer) tableModel.getValueAt(modelRow, 0);
-        String employeeCode = (String) tableModel.getValueAt(modelRow, 1);
-        String employeeName = (String) tableModel.getValueAt(modelRow, 2);
+        PayrollDAO.SummaryQuery query = tableModel.getQuery();
+        markPaidButton.setEnabled(false);
+        SwingWorker<List<Integer>, Void> worker = new SwingWorker<List<Integer>, Void>() {
+            @Override
+            protected List<Integer> doInBackground() throws Exception {
+                List<Integer> payrollIds = new ArrayList<>(loadedIds);
+                for (int[] range : unloadedRanges) {
+                    List<Integer> rangeIds = payrollDAO.getPayrollIds(query, range[0], range[1],
+                                                                      Payroll.PaymentStatus.PENDING);
+                    if (rangeIds == null) {
+                        return null;
+                    }
+                    payrollIds.addAll(rangeIds);
+                }
+                return payrollIds;
+            }
+            
+            @Override
+            protected void done() {
+                markPaidButton.setEnabled(true);
+                try {
+                    List<Integer> payrollIds = get();
+                    if (payrollIds == null) {
+                        JOptionPane.showMessageDialog(PayrollManagementPanel.this,
+                            "Failed to look up the selected payrolls.",
+                            "Error",
+                            JOptionPane.ERROR_MESSAGE);
+                    } else {
+                        confirmMarkAsPaid(payrollIds);
+                    }
+                } catch (Exception e) {
+                    JOptionPane.showMessageDialog(PayrollManagementPanel.this,
+                        "Error looking up the selected payrolls: " + e.getMessage(),
+                        "Error",
+                        JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        };
+        worker.execute();
+    }
+    
+    private void confirmMarkAsPaid(List<Integer> payrollIds) {
+        if (payrollIds.isEmpty()) {
+            JOptionPane.showMessageDialog(this,
+                "None of the selected payrolls are pending.",
+                "Information",
+                JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+        
+        String message;
+        // Name the record being paid, which is not necessarily the first selected row
+        PayrollSummary payroll = payrollIds.size() == 1 ? findSelectedPayroll(payrollIds.get(0)) : null;
+        if (payroll != null) {
+            message = "Mark payroll as PAID for:\n" +
+                "Employee: " + payroll.getEmployeeCode() + " (" + payroll.getEmployeeName() + ")\n\n" +
+                "Payment date will be set to today.";
+        } else {
+            message = "Mark all " + payrollIds.size() + " selected pending payrolls as PAID?\n\n" +
+                "Payment date will be set to today.";
+        }
         
         int option = JOptionPane.showConfirmDialog(this,
-            "Mark payroll as PAID for:\n" +
-            "Employee: " + employeeCode + " (" + employeeName + ")\n\n" +
-            "Payment date will be set to today.",
+            message,
             "Confirm Payment",
             JOptionPane.YES_NO_OPTION,
             JOptionPane.QUESTION_MESSAGE);
@@ -425,19 +507,21 @@ public class PayrollManagementPanel extends JPanel {
         if (option == JOptionPane.YES_OPTION) {
             Date paymentDate = new Date(System.currentTimeMillis());
             
-            SwingWorker<Boolean, Void> worker = new SwingWorker<Boolean, Void>() {
+            SwingWorker<Integer, Void> worker = new SwingWorker<Integer, Void>() {
                 @Override
-                protected Boolean doInBackground() throws Exception {
-                    return payrollDAO.updatePaymentStatus(payrollId, Payroll.PaymentStatus.PAID, paymentDate);
+                protected Integer doInBackground() throws Exception {
+                    return payrollDAO.updatePaymentStatus(payrollIds, Payroll.PaymentStatus.PENDING,
+                                                          Payroll.PaymentStatus.PAID, paymentDate);
                 }
                 
                 @Override
                 protected void done() {
                     try {
-                        boolean success = get();
-                        if (success) {
+                        int updated = get();
+                        if (updated > 0) {
                             JOptionPane.showMessageDialog(PayrollManagementPanel.this,
-                                "Payroll marked as paid successfully.",
+                                updated == 1 ? "Payroll marked as paid successfully."
+                                             : updated + " payrolls marked as paid successfully.",
                                 "Success",
                                 JOptionPane.INFORMATION_MESSAGE);
                             refreshData();
@@ -763,34 +847,24 @@ public class PayrollManagementPanel extends JPanel {
         
         private void calculateSalary() {
             try {
-                BigDecimal baseSalary = new BigDecimal(baseSalaryField.getText());
-                BigDecimal overtimeHours = new BigDecimal(overtimeHoursField.getText());
-                BigDecimal overtimeRate = new BigDecimal(overtimeRateField.getText());
-                BigDecimal bonus = new BigDecimal(bonusField.getText());
-                BigDecimal allowances = new BigDecimal(allowancesField.getText());
-                BigDecimal taxDeduction = new BigDecimal(taxDeductionField.getText());
-                BigDecimal insuranceDeduction = new BigDecimal(insuranceDeductionField.getText());
-                BigDecimal otherDeductions = new BigDecimal(otherDeductionsField.getText());
-                
-                // Calculate overtime pay (assuming 160 hours per month)
-                BigDecimal overtimePay = overtimeHours.multiply(baseSalary.divide(new BigDecimal("160")))
-                                                    .multiply(overtimeRate);
-                
-                // Calculate gross salary
-                BigDecimal grossSalary = baseSalary.add(overtimePay).add(bonus).add(allowances);
-                
-                // Calculate total deductions
-                BigDecimal totalDeductions = taxDeduction.add(insuranceDeduction).add(otherDeductions);
-                
-                // Calculate net salary
-                BigDecimal netSalary = grossSalary.subtract(totalDeductions);
+                // Same calculation as when the payroll is saved
+                Payroll preview = new Payroll();
+                preview.setBaseSalary(new BigDecimal(baseSalaryField.getText()));
+                preview.setOvertimeHours(new BigDecimal(overtimeHoursField.getText()));
+                preview.setOvertimeRate(new BigDecimal(overtimeRateField.getText()));
+                preview.setBonus(new BigDecimal(bonusField.getText()));
+                preview.setAllowances(new BigDecimal(allowancesField.getText()));
+                preview.setTaxDeduction(new BigDecimal(taxDeductionField.getText()));
+                preview.setInsuranceDeduction(new BigDecimal(insuranceDeductionField.getText()));
+                preview.setOtherDeductions(new BigDecimal(otherDeductionsField.getText()));
+                preview.calculateSalary();
                 
                 // Update fields
-                grossSalaryField.setText(String.format("%.2f", grossSalary));
-                totalDeductionsField.setText(String.format("%.2f", totalDeductions));
-                netSalaryField.setText(String.format("%.2f", netSalary));
+                grossSalaryField.setText(preview.getGrossSalary().toPlainString());
+                totalDeductionsField.setText(preview.getTotalDeductions().toPlainString());
+                netSalaryField.setText(preview.getNetSalary().toPlainString());
                 
-            } catch (NumberFormatException e) {
+            } catch (NumberFormatException | ArithmeticException e) {
                 JOptionPane.showMessageDialog(this,
                     "Please enter valid numeric values for all salary fields.",
                     "Calculation Error",
@@ -925,4 +999,196 @@ public class PayrollManagementPanel extends JPanel {
             return confirmed;
         }
     }
-}
\ No newline at end of file
+    
+    /**
+     * Dialog for creating the payroll of all active employees for one pay period
+     */
+    private class PayrollRunDialog extends JDialog {
+        private JSpinner payPeriodStartSpinner;
+        private JSpinner payPeriodEndSpinner;
+        private JCheckBox serverSideCheckBox;
+        private JProgressBar progressBar;
+        private JLabel statusLabel;
+        private JButton runButton;
+        private JButton closeButton;
+        private boolean createdPayrolls = false;
+        
+        public PayrollRunDialog(Frame parent) {
+            super(parent, "Run Payroll", true);
+            
+            initializeComponents();
+            setupLayout();
+            
+            pack();
+            setLocationRelativeTo(parent);
+        }
+        
+        private void initializeComponents() {
+            // Default to the current month
+            LocalDate today = LocalDate.now();
+            payPeriodStartSpinner = new JSpinner(new SpinnerDateModel());
+            payPeriodEndSpinner = new JSpinner(new SpinnerDateModel());
+            payPeriodStartSpinner.setEditor(new JSpinner.DateEditor(payPeriodStartSpinner, DatabaseConfig.DATE_FORMAT));
+            payPeriodEndSpinner.setEditor(new JSpinner.DateEditor(payPeriodEndSpinner, DatabaseConfig.DATE_FORMAT));
+            payPeriodStartSpinner.setValue(Date.valueOf(today.withDayOfMonth(1)));
+            payPeriodEndSpinner.setValue(Date.valueOf(today.withDayOfMonth(today.lengthOfMonth())));
+            
+            serverSideCheckBox = new JCheckBox("Calculate on the database server");
+            serverSideCheckBox.setToolTipText("Faster for large companies; progress and per-employee errors are not reported");
+            
+            progressBar = new JProgressBar();
+            progressBar.setStringPainted(true);
+            progressBar.setString("");
+            
+            statusLabel = new JLabel("Creates pending payroll for every active employee not yet paid for the period.");
+            
+            runButton = new JButton("Run");
+            closeButton = new JButton("Close");
+            runButton.addActionListener(e -> runPayroll());
+            closeButton.addActionListener(e -> dispose());
+        }
+        
+        private void setupLayout() {
+            setLayout(new BorderLayout());
+            
+            JPanel formPanel = new JPanel(new GridBagLayout());
+            formPanel.setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
+            
+            GridBagConstraints gbc = new GridBagConstraints();
+            gbc.insets = new Insets(5, 5, 5, 5);
+            gbc.anchor = GridBagConstraints.WEST;
+            
+            gbc.gridx = 0; gbc.gridy = 0;
+            formPanel.add(new JLabel("Pay Period Start:*"), gbc);
+            gbc.gridx = 1;
+            formPanel.add(payPeriodStartSpinner, gbc);
+            
+            gbc.gridx = 0; gbc.gridy = 1;
+            formPanel.add(new JLabel("Pay Period End:*"), gbc);
+            gbc.gridx = 1;
+            formPanel.add(payPeriodEndSpinner, gbc);
+            
+            gbc.gridx = 0; gbc.gridy = 2; gbc.gridwidth = 2;
+            formPanel.add(serverSideCheckBox, gbc);
+            
+            gbc.gridy = 3;
+            gbc.fill = GridBagConstraints.HORIZONTAL;
+            formPanel.add(progressBar, gbc);
+            
+            gbc.gridy = 4;
+            formPanel.add(statusLabel, gbc);
+            
+            JPanel buttonPanel = new JPanel(new FlowLayout());
+            buttonPanel.add(runButton);
+            buttonPanel.add(closeButton);
+            
+            add(formPanel, BorderLayout.CENTER);
+            add(buttonPanel, BorderLayout.SOUTH);
+            getRootPane().setDefaultButton(runButton);
+        }
+        
+        private void runPayroll() {
+            Date startDate = new Date(((java.util.Date) payPeriodStartSpinner.getValue()).getTime());
+            Date endDate = new Date(((java.util.Date) payPeriodEndSpinner.getValue()).getTime());
+            
+            if (startDate.after(endDate)) {
+                JOptionPane.showMessageDialog(this,
+                    "Pay period start date must be before end date.",
+                    "Validation Error",
+                    JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+            
+            runButton.setEnabled(false);
+            closeButton.setEnabled(false);
+            serverSideCheckBox.setEnabled(false);
+            setDefaultCloseOperation(DO_NOTHING_ON_CLOSE);
+            progressBar.setIndeterminate(true);
+            progressBar.setString("Calculating...");
+            statusLabel.setText("Running payroll for " + startDate + " to " + endDate + "...");
+            
+            PayrollRunEngine engine = new PayrollRunEngine(employeeDAO, payrollDAO);
+            boolean serverSide = serverSideCheckBox.isSelected();
+            SwingWorker<PayrollRunEngine.RunSummary, int[]> worker =
+                new SwingWorker<PayrollRunEngine.RunSummary, int[]>() {
+                @Override
+                protected PayrollRunEngine.RunSummary doInBackground() throws Exception {
+                    if (serverSide) {
+                        return engine.runOnServer(startDate, endDate, currentUser.getUserId());
+                    }
+                    return engine.run(startDate, endDate, currentUser.getUserId(),
+                        (saved, total) -> publish(new int[] { saved, total }));
+                }
+                
+                @Override
+                protected void process(List<int[]> chunks) {
+                    int[] latest = chunks.get(chunks.size() - 1);
+                    progressBar.setIndeterminate(false);
+                    progressBar.setMaximum(latest[1]);
+                    progressBar.setValue(latest[0]);
+                    progressBar.setString("Saved " + latest[0] + " of " + latest[1]);
+                }
+                
+                @Override
+                protected void done() {
+                    progressBar.setIndeterminate(false);
+                    closeButton.setEnabled(true);
+                    runButton.setEnabled(true);
+                    serverSideCheckBox.setEnabled(true);
+                    setDefaultCloseOperation(DISPOSE_ON_CLOSE);
+                    
+                    try {
+                        PayrollRunEngine.RunSummary summary = get();
+                        createdPayrolls |= summary.getCreated() > 0;
+                        progressBar.setString(summary.isSuccessful() ? "Done" : "Finished with errors");
+                        statusLabel.setText("Created " + summary.getCreated() + " payroll records in " +
+                            summary.getElapsedMillis() + " ms.");
+                        showSummary(summary);
+                    } catch (Exception e) {
+                        progressBar.setString("Failed");
+                        statusLabel.setText(" ");
+                        JOptionPane.showMessageDialog(PayrollRunDialog.this,
+                            "Error running payroll: " + e.getMessage(),
+                            "Error",
+                            JOptionPane.ERROR_MESSAGE);
+                    }
+                }
+            };
+            worker.execute();
+        }
+        
+        private void showSummary(PayrollRunEngine.RunSummary summary) {
+            StringBuilder message = new StringBuilder();
+            if (summary.getError() != null) {
+                message.append(summary.getError()).append(". No payroll records were created.");
+            } else {
+                message.append("Active employees: ").append(summary.getActiveEmployees()).append('\n');
+                message.append("Payroll records created: ").append(summary.getCreated()).append('\n');
+                message.append("Skipped (already paid for the period): ").append(summary.getSkippedExisting()).append('\n');
+                if (summary.getNotSaved() > 0) {
+                    message.append("Not saved (batch rolled back): ").append(summary.getNotSaved()).append('\n');
+                }
+                int shown = 0;
+                for (Map.Entry<String, String> failure : summary.getFailures().entrySet()) {
+                    if (shown++ == 10) {
+                        message.append("... and ").append(summary.getFailures().size() - 10).append(" more\n");
+                        break;
+                    }
+                    message.append(failure.getKey()).append(": ").append(failure.getValue()).append('\n');
+                }
+            }
+            
+            JOptionPane.showMessageDialog(this,
+                message.toString(),
+                "Payroll Run",
+                summary.isSuccessful() ? JOptionPane.INFORMATION_MESSAGE : JOptionPane.WARNING_MESSAGE);
+        }
+        
+        /**
+         * @return true if any run in this dialog created payroll records
+         */
+        public boolean hasCreatedPayrolls() {
+            return createdPayrolls;
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package gui;
+
+import config.DatabaseConfig;
+import dao.PayrollDAO;
+import models.Payroll;
+import models.PayrollSummary;
+import utils.DatabaseExecutor;
+import utils.LoadCoordinator;
+import utils.LruCache;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Table model over the payroll summaries in the database, loaded a window at a time.
+ * Only the row count is queried up front; a window of rows is fetched the first time one of its rows
+ * is painted, and the most recently used windows are kept in memory. Filtering and sorting are done
+ * by the database, so opening or re-sorting the table costs the same at any table size.
+ * Cells hold the raw values (amounts as BigDecimal, dates as Date); formatting is left to the renderers.
+ * Must be used from the Swing event thread.
+ */
+public class PayrollTableModel extends AbstractTableModel {
+    public static final int COLUMN_ID = 0;
+    public static final int COLUMN_EMPLOYEE_CODE = 1;
+    public static final int COLUMN_EMPLOYEE_NAME = 2;
+    public static final int COLUMN_PERIOD_START = 3;
+    public static final int COLUMN_PERIOD_END = 4;
+    public static final int COLUMN_STATUS = 11;
+    
+    private static final String[] COLUMN_NAMES = {
+        "ID", "Employee Code", "Employee Name", "Pay Period Start", "Pay Period End",
+        "Base Salary", "Overtime Pay", "Bonus", "Gross Salary", "Deductions", "Net Salary", "Status", "Payment Date"
+    };
+    
+    private static final Class<?>[] COLUMN_CLASSES = {
+        Integer.class, String.class, String.class, Date.class, Date.class,
+        BigDecimal.class, BigDecimal.class, BigDecimal.class, BigDecimal.class, BigDecimal.class, BigDecimal.class,
+        Payroll.PaymentStatus.class, Date.class
+    };
+    
+    private static final PayrollDAO.SummarySort[] COLUMN_SORTS = {
+        PayrollDAO.SummarySort.PAYROLL_ID, PayrollDAO.SummarySort.EMPLOYEE_CODE, PayrollDAO.SummarySort.EMPLOYEE_NAME,
+        PayrollDAO.SummarySort.PAY_PERIOD_START, PayrollDAO.SummarySort.PAY_PERIOD_END,
+        PayrollDAO.SummarySort.BASE_SALARY, PayrollDAO.SummarySort.OVERTIME_PAY, PayrollDAO.SummarySort.BONUS,
+        PayrollDAO.SummarySort.GROSS_SALARY, PayrollDAO.SummarySort.TOTAL_DEDUCTIONS,
+        PayrollDAO.SummarySort.NET_SALARY, PayrollDAO.SummarySort.PAYMENT_STATUS, PayrollDAO.SummarySort.PAYMENT_DATE
+    };
+    
+    private static final int WINDOW_SIZE = DatabaseConfig.TABLE_WINDOW_SIZE;
+    private static final String COUNT_LOAD = "count";
+    
+    private final PayrollDAO payrollDAO;
+    private final Consumer<Throwable> errorHandler;
+    private final LoadCoordinator loads = new LoadCoordinator();
+    private final LruCache<Integer, List<PayrollSummary>> windows =
+        new LruCache<>(DatabaseConfig.TABLE_WINDOW_CACHE_SIZE);
+    // Windows whose last load failed: when they may be retried, and how long the next wait will be
+    private final Map<Integer, Long> retryTimes = new HashMap<>();
+    private final Map<Integer, Long> retryDelays = new HashMap<>();
+    private PayrollDAO.SummaryQuery query = PayrollDAO.SummaryQuery.defaultQuery();
+    private int rowCount;
+    
+    /**
+     * Create an empty model; call {@link #reload()} to fill it
+     * @param payrollDAO DAO the rows are read from
+     * @param errorHandler Called on the event thread if the row count cannot be loaded
+     */
+    public PayrollTableModel(PayrollDAO payrollDAO, Consumer<Throwable> errorHandler) {
+        this.payrollDAO = payrollDAO;
+        this.errorHandler = errorHandler;
+    }
+    
+    /**
+     * Drop all loaded rows and query the row count again, e.g. after payroll records were changed
+     */
+    public void reload() {
+        // Windows still loading belong to the previous query or data, their results are discarded
+        loads.cancelAll();
+        windows.clear();
+        retryTimes.clear();
+        retryDelays.clear();
+        
+        // Show no rows until the new count arrives, so painting does not fetch windows past its end
+        rowCount = 0;
+        fireTableDataChanged();
+        
+        PayrollDAO.SummaryQuery countQuery = query;
+        loads.load(COUNT_LOAD,
+            () -> DatabaseExecutor.supply(() -> payrollDAO.countPayrollSummaries(countQuery)),
+            count -> {
+                rowCount = count;
+                fireTableDataChanged();
+            },
+            errorHandler);
+    }
+    
+    /**
+     * Show only matching rows and reload
+     * @param searchText Text the employee code or name must contain, or blank for any
+     * @param status Payment status to match, or null for any
+     */
+    public void setFilter(String searchText, Payroll.PaymentStatus status) {
+        query = query.withFilter(searchText, status);
+        reload();
+    }
+    
+    /**
+     * Sort by a column and reload
+     * @param column Model column index
+     * @param ascending true for ascending order
+     */
+    public void setSort(int column, boolean ascending) {
+        query = query.withSort(COLUMN_SORTS[column], ascending);
+        reload();
+    }
+    
+    /**
+     * @return Model column the rows are sorted by
+     */
+    public int getSortColumn() {
+        return Arrays.asList(COLUMN_SORTS).indexOf(query.getSort());
+    }
+    
+    public boolean isSortAscending() {
+        return query.isAscending();
+    }
+    
+    /**
+     * @return Filter and sort order the rows are numbered by
+     */
+    PayrollDAO.SummaryQuery getQuery() {
+        return query;
+    }
+    
+    /**
+     * @return true if a search or status filter is applied
+     */
+    public boolean isFiltered() {
+        return query.isFiltered();
+    }
+    
+    /**
+     * Get the payroll summary of a row if its window is in memory, without fetching it
+     * @param row Model row index
+     * @return Payroll summary shown in the row, or null if the row is not loaded
+     */
+    public PayrollSummary getPayrollAt(int row) {
+        List<PayrollSummary> window = windows.peek(row / WINDOW_SIZE);
+        int index = row % WINDOW_SIZE;
+        return window != null && index < window.size() ? window.get(index) : null;
+    }
+    
+    /**
+     * Get the payroll summary of a row, fetching its window in the background if it is not loaded
+     */
+    private PayrollSummary fetchPayrollAt(int row) {
+        int windowIndex = row / WINDOW_SIZE;
+        List<PayrollSummary> window = windows.get(windowIndex);
+        if (window == null) {
+            loadWindow(windowIndex);
+            return null;
+        }
+        int index = row % WINDOW_SIZE;
+        // The window can be short if rows were deleted after the count was taken
+        return index < window.size() ? window.get(index) : null;
+    }
+    
+    private void loadWindow(int windowIndex) {
+        String key = "window-" + windowIndex;
+        if (loads.isLoading(key)) {
+            return;
+        }
+        Long retryTime = retryTimes.get(windowIndex);
+        if (retryTime != null && System.currentTimeMillis() < retryTime) {
+            return;
+        }
+        
+        PayrollDAO.SummaryQuery windowQuery = query;
+        PayrollSummary anchor = null;
+        boolean forward = true;
+        int offset = windowIndex * WINDOW_SIZE;
+        // Seek from the edge of the nearest loaded window; OFFSET alone only for jumps into unloaded territory
+        int windowCount = (rowCount + WINDOW_SIZE - 1) / WINDOW_SIZE;
+        for (int distance = 1; distance <= Math.max(windowIndex, windowCount - windowIndex); distance++) {
+            List<PayrollSummary> before = windowIndex - distance >= 0 ? windows.peek(windowIndex - distance) : null;
+            // A short window does not end where the next one starts
+            if (before != null && before.size() == WINDOW_SIZE) {
+                anchor = before.get(WINDOW_SIZE - 1);
+                offset = (distance - 1) * WINDOW_SIZE;
+                break;
+            }
+            List<PayrollSummary> after = windows.peek(windowIndex + distance);
+            if (after != null && !after.isEmpty()) {
+                anchor = after.get(0);
+                forward = false;
+                offset = (distance - 1) * WINDOW_SIZE;
+                break;
+            }
+        }
+        
+        PayrollSummary windowAnchor = anchor;
+        boolean windowForward = forward;
+        int windowOffset = offset;
+        loads.load(key,
+            () -> DatabaseExecutor.supply(() ->
+                payrollDAO.getPayrollSummaries(windowQuery, windowAnchor, windowForward, windowOffset, WINDOW_SIZE)),
+            rows -> {
+                retryTimes.remove(windowIndex);
+                retryDelays.remove(windowIndex);
+                windows.put(windowIndex, rows);
+                int firstRow = windowIndex * WINDOW_SIZE;
+                int lastRow = Math.min(rowCount, firstRow + WINDOW_SIZE) - 1;
+                if (firstRow <= lastRow) {
+                    fireTableRowsUpdated(firstRow, lastRow);
+                }
+            },
+            error -> {
+                System.err.println("Error loading payroll rows: " + error.getMessage());
+                scheduleRetry(windowIndex);
+            });
+    }
+    
+    /**
+     * Leave a window that failed to load blank for a while, then repaint its rows so a visible window
+     * is fetched again. The wait doubles with each failure, up to TABLE_WINDOW_MAX_RETRY_DELAY.
+     */
+    private void scheduleRetry(int windowIndex) {
+        long delay = retryDelays.getOrDefault(windowIndex, DatabaseConfig.TABLE_WINDOW_RETRY_DELAY);
+        retryTimes.put(windowIndex, System.currentTimeMillis() + delay);
+        retryDelays.put(windowIndex, Math.min(delay * 2, DatabaseConfig.TABLE_WINDOW_MAX_RETRY_DELAY));
+        
+        Timer timer = new Timer((int) delay, e -> {
+            int firstRow = windowIndex * WINDOW_SIZE;
+            int lastRow = Math.min(rowCount, firstRow + WINDOW_SIZE) - 1;
+            // Skipped if a reload cleared the failure in the meantime
+            if (retryTimes.remove(windowIndex) != null && firstRow <= lastRow) {
+                fireTableRowsUpdated(firstRow, lastRow);
+            }
+        });
+        timer.setRepeats(false);
+        timer.start();
+    }
+    
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+    
+    @Override
+    public int getColumnCount() {
+        return COLUMN_NAMES.length;
+    }
+    
+    @Override
+    public String getColumnName(int column) {
+        return COLUMN_NAMES[column];
+    }
+    
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return COLUMN_CLASSES[column];
+    }
+    
+    @Override
+    public Object getValueAt(int row, int column) {
+        PayrollSummary payroll = fetchPayrollAt(row);
+        if (payroll == null) {
+            return null; // Shown blank until the window arrives
+        }
+        switch (column) {
+            case 0: return payroll.getPayrollId();
+            case 1: return payroll.getEmployeeCode();
+            case 2: return payroll.getEmployeeName();
+            case 3: return payroll.getPayPeriodStart();
+            case 4: return payroll.getPayPeriodEnd();
+            case 5: return payroll.getBaseSalary();
+            case 6: return payroll.getOvertimePay();
+            case 7: return payroll.getBonus();
+            case 8: return payroll.getGrossSalary();
+            case 9: return payroll.getTotalDeductions();
+            case 10: return payroll.getNetSalary();
+            case 11: return payroll.getPaymentStatus();
+            case 12: return payroll.getPaymentDate();
+            default: return null;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package gui;
+
+import javax.swing.*;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Row sorter for {@link PayrollTableModel} that sorts in the database instead of in memory.
+ * Clicking a column header asks the model to reload in the new order; view and model rows are the same.
+ * Only single-column sorting is supported.
+ */
+public class PayrollTableSorter extends RowSorter<PayrollTableModel> {
+    private final PayrollTableModel model;
+    private List<SortKey> sortKeys;
+    
+    /**
+     * Create a sorter showing the model's current sort order
+     * @param model Model to sort
+     */
+    public PayrollTableSorter(PayrollTableModel model) {
+        this.model = model;
+        this.sortKeys = Collections.singletonList(new SortKey(model.getSortColumn(),
+            model.isSortAscending() ? SortOrder.ASCENDING : SortOrder.DESCENDING));
+    }
+    
+    @Override
+    public PayrollTableModel getModel() {
+        return model;
+    }
+    
+    @Override
+    public void toggleSortOrder(int column) {
+        SortKey current = sortKeys.get(0);
+        SortOrder order = current.getColumn() == column && current.getSortOrder() == SortOrder.ASCENDING
+            ? SortOrder.DESCENDING : SortOrder.ASCENDING;
+        setSortKeys(Collections.singletonList(new SortKey(column, order)));
+    }
+    
+    @Override
+    public void setSortKeys(List<? extends SortKey> keys) {
+        if (keys == null || keys.isEmpty() || keys.get(0).getSortOrder() == SortOrder.UNSORTED) {
+            return; // The database always returns rows in some order, keep the current one
+        }
+        SortKey key = keys.get(0);
+        sortKeys = Collections.singletonList(key);
+        model.setSort(key.getColumn(), key.getSortOrder() == SortOrder.ASCENDING);
+        fireSortOrderChanged();
+    }
+    
+    @Override
+    public List<? extends SortKey> getSortKeys() {
+        return sortKeys;
+    }
+    
+    @Override
+    public int convertRowIndexToModel(int index) {
+        return index;
+    }
+    
+    @Override
+    public int convertRowIndexToView(int index) {
+        return index;
+    }
+    
+    @Override
+    public int getViewRowCount() {
+        return model.getRowCount();
+    }
+    
+    @Override
+    public int getModelRowCount() {
+        return model.getRowCount();
+    }
+    
+    // Rows are ordered by the query, so model changes never require re-sorting here
+    
+    @Override
+    public void modelStructureChanged() {}
+    
+    @Override
+    public void allRowsChanged() {}
+    
+    @Override
+    public void rowsInserted(int firstRow, int endRow) {}
+    
+    @Override
+    public void rowsDeleted(int firstRow, int endRow) {}
+    
+    @Override
+    public void rowsUpdated(int firstRow, int endRow) {}
+    
+    @Override
+    public void rowsUpdated(int firstRow, int endRow, int column) {}
+}
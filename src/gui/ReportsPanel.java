@@ -1,12 +1,15 @@
 package gui;
 
-import dao.DepartmentDAO;
-import dao.EmployeeDAO;
-import dao.PayrollDAO;
+import dao.AsyncDepartmentDAO;
+import dao.AsyncEmployeeDAO;
+import dao.AsyncPayrollDAO;
 import models.Department;
+import models.DepartmentStatistics;
 import models.Employee;
 import models.Payroll;
 import models.User;
+import utils.LoadCoordinator;
+import utils.PayrollColumnStore;
 
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
@@ -14,20 +17,27 @@ import java.awt.*;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
-import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.sql.Date;
 import java.text.SimpleDateFormat;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Panel for generating and viewing reports
  */
 public class ReportsPanel extends JPanel {
     private User currentUser;
-    private EmployeeDAO employeeDAO;
-    private PayrollDAO payrollDAO;
-    private DepartmentDAO departmentDAO;
+    private AsyncEmployeeDAO employeeDAO;
+    private AsyncPayrollDAO payrollDAO;
+    private AsyncDepartmentDAO departmentDAO;
+    private final LoadCoordinator loadCoordinator = new LoadCoordinator();
+    
+    // Payroll records for the analytics report, updated incrementally on each refresh
+    private final PayrollColumnStore payrollColumns = new PayrollColumnStore();
+    private final Map<Integer, String> departmentNames = new HashMap<>();
     
     // Components
     private JTabbedPane reportTabs;
@@ -37,12 +47,19 @@ public class ReportsPanel extends JPanel {
     private DefaultTableModel employeeTableModel;
     private DefaultTableModel payrollTableModel;
     private DefaultTableModel departmentTableModel;
+    private JTable analyticsReportTable;
+    private DefaultTableModel analyticsTableModel;
     
     // Filter components
     private JComboBox<Department> departmentFilter;
     private JComboBox<String> statusFilter;
     private JSpinner startDateSpinner;
     private JSpinner endDateSpinner;
+    private JComboBox<String> analyticsGroupFilter;
+    private JComboBox<String> analyticsStatusFilter;
+    private JSpinner analyticsStartSpinner;
+    private JSpinner analyticsEndSpinner;
+    private JLabel analyticsInfoLabel;
     
     // Separate buttons for each tab
     private JButton generateEmployeeReportButton;
@@ -51,6 +68,8 @@ public class ReportsPanel extends JPanel {
     private JButton exportPayrollReportButton;
     private JButton generateDepartmentReportButton;
     private JButton exportDepartmentReportButton;
+    private JButton generateAnalyticsReportButton;
+    private JButton exportAnalyticsReportButton;
     
     // Summary components
     private JLabel totalEmployeesLabel;
@@ -60,9 +79,9 @@ public class ReportsPanel extends JPanel {
     
     public ReportsPanel(User user) {
         this.currentUser = user;
-        this.employeeDAO = new EmployeeDAO();
-        this.payrollDAO = new PayrollDAO();
-        this.departmentDAO = new DepartmentDAO();
+        this.employeeDAO = new AsyncEmployeeDAO();
+        this.payrollDAO = new AsyncPayrollDAO();
+        this.departmentDAO = new AsyncDepartmentDAO();
         
         initializeComponents();
         setupLayout();
@@ -116,6 +135,19 @@ public class ReportsPanel extends JPanel {
         departmentReportTable = new JTable(departmentTableModel);
         departmentReportTable.setRowHeight(25);
         
+        // Analytics Report Table
+        String[] analyticsColumns = {
+            "Department", "Payroll Records", "Gross Salary", "Deductions", "Net Salary", "Average Net Salary"
+        };
+        analyticsTableModel = new DefaultTableModel(analyticsColumns, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        analyticsReportTable = new JTable(analyticsTableModel);
+        analyticsReportTable.setRowHeight(25);
+        
         // Filter components
         departmentFilter = new JComboBox<>();
         departmentFilter.addItem(null); // "All departments" option
@@ -140,6 +172,18 @@ public class ReportsPanel extends JPanel {
         cal.set(java.util.Calendar.DAY_OF_MONTH, cal.getActualMaximum(java.util.Calendar.DAY_OF_MONTH));
         endDateSpinner.setValue(cal.getTime());
         
+        // Analytics filters, covering the year to date by default
+        analyticsGroupFilter = new JComboBox<>(new String[]{"Department", "Month"});
+        analyticsStatusFilter = new JComboBox<>(new String[]{"All", "PENDING", "PAID", "CANCELLED"});
+        analyticsStartSpinner = new JSpinner(new SpinnerDateModel());
+        analyticsEndSpinner = new JSpinner(new SpinnerDateModel());
+        analyticsStartSpinner.setEditor(new JSpinner.DateEditor(analyticsStartSpinner, "yyyy-MM-dd"));
+        analyticsEndSpinner.setEditor(new JSpinner.DateEditor(analyticsEndSpinner, "yyyy-MM-dd"));
+        analyticsEndSpinner.setValue(cal.getTime());
+        cal.set(java.util.Calendar.DAY_OF_YEAR, 1);
+        analyticsStartSpinner.setValue(cal.getTime());
+        analyticsInfoLabel = new JLabel(" ");
+        
         // Create separate buttons for each tab
         generateEmployeeReportButton = new JButton("Generate Report");
         exportEmployeeReportButton = new JButton("Export to CSV");
@@ -147,6 +191,8 @@ public class ReportsPanel extends JPanel {
         exportPayrollReportButton = new JButton("Export to CSV");
         generateDepartmentReportButton = new JButton("Generate Report");
         exportDepartmentReportButton = new JButton("Export to CSV");
+        generateAnalyticsReportButton = new JButton("Generate Report");
+        exportAnalyticsReportButton = new JButton("Export to CSV");
         
         // Summary labels
         totalEmployeesLabel = new JLabel("Total Employees: 0");
@@ -171,6 +217,10 @@ public class ReportsPanel extends JPanel {
         JPanel departmentPanel = createDepartmentReportPanel();
         reportTabs.addTab("Department Report", departmentPanel);
         
+        // Create analytics panel
+        JPanel analyticsPanel = createAnalyticsReportPanel();
+        reportTabs.addTab("Payroll Analytics", analyticsPanel);
+        
         // Create summary panel
         JPanel summaryPanel = createSummaryPanel();
         reportTabs.addTab("Summary", summaryPanel);
@@ -244,6 +294,36 @@ public class ReportsPanel extends JPanel {
         return panel;
     }
     
+    private JPanel createAnalyticsReportPanel() {
+        JPanel panel = new JPanel(new BorderLayout());
+        
+        // Filter panel
+        JPanel filterPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        filterPanel.add(new JLabel("Group By:"));
+        filterPanel.add(analyticsGroupFilter);
+        filterPanel.add(Box.createHorizontalStrut(10));
+        filterPanel.add(new JLabel("Status:"));
+        filterPanel.add(analyticsStatusFilter);
+        filterPanel.add(Box.createHorizontalStrut(10));
+        filterPanel.add(new JLabel("From:"));
+        filterPanel.add(analyticsStartSpinner);
+        filterPanel.add(new JLabel("To:"));
+        filterPanel.add(analyticsEndSpinner);
+        filterPanel.add(Box.createHorizontalStrut(20));
+        filterPanel.add(generateAnalyticsReportButton);
+        filterPanel.add(exportAnalyticsReportButton);
+        
+        // Table panel
+        JScrollPane scrollPane = new JScrollPane(analyticsReportTable);
+        scrollPane.setPreferredSize(new Dimension(800, 400));
+        
+        panel.add(filterPanel, BorderLayout.NORTH);
+        panel.add(scrollPane, BorderLayout.CENTER);
+        panel.add(analyticsInfoLabel, BorderLayout.SOUTH);
+        
+        return panel;
+    }
+    
     private JPanel createSummaryPanel() {
         JPanel panel = new JPanel(new GridBagLayout());
         panel.setBorder(BorderFactory.createEmptyBorder(50, 50, 50, 50));
@@ -321,6 +401,10 @@ public class ReportsPanel extends JPanel {
         generateDepartmentReportButton.addActionListener(e -> generateDepartmentReport());
         exportDepartmentReportButton.addActionListener(e -> exportDepartmentReport());
         
+        // Analytics report buttons
+        generateAnalyticsReportButton.addActionListener(e -> generateAnalyticsReport());
+        exportAnalyticsReportButton.addActionListener(e -> exportAnalyticsReport());
+        
         // Tab change listener to update button states
         reportTabs.addChangeListener(e -> updateButtonStates());
     }
@@ -330,6 +414,7 @@ public class ReportsPanel extends JPanel {
         exportEmployeeReportButton.setEnabled(employeeTableModel.getRowCount() > 0);
         exportPayrollReportButton.setEnabled(payrollTableModel.getRowCount() > 0);
         exportDepartmentReportButton.setEnabled(departmentTableModel.getRowCount() > 0);
+        exportAnalyticsReportButton.setEnabled(analyticsTableModel.getRowCount() > 0);
     }
     
     private void exportEmployeeReport() {
@@ -344,35 +429,23 @@ public class ReportsPanel extends JPanel {
         exportTableToCSV(departmentTableModel, "Department_Report.csv");
     }
     
+    private void exportAnalyticsReport() {
+        exportTableToCSV(analyticsTableModel, "Payroll_Analytics.csv");
+    }
+    
     private void generateEmployeeReport() {
         Department selectedDept = (Department) departmentFilter.getSelectedItem();
         String selectedStatus = (String) statusFilter.getSelectedItem();
         
-        SwingWorker<List<Employee>, Void> worker = new SwingWorker<List<Employee>, Void>() {
-            @Override
-            protected List<Employee> doInBackground() throws Exception {
-                if (selectedDept != null) {
-                    return employeeDAO.getEmployeesByDepartment(selectedDept.getDepartmentId());
-                } else {
-                    return employeeDAO.getAllEmployees();
-                }
-            }
-            
-            @Override
-            protected void done() {
-                try {
-                    List<Employee> employees = get();
-                    updateEmployeeReportTable(employees, selectedStatus);
-                    updateButtonStates();
-                } catch (Exception e) {
-                    JOptionPane.showMessageDialog(ReportsPanel.this,
-                        "Error generating employee report: " + e.getMessage(),
-                        "Error",
-                        JOptionPane.ERROR_MESSAGE);
-                }
-            }
-        };
-        worker.execute();
+        loadCoordinator.load("employeeReport",
+            () -> selectedDept != null
+                ? employeeDAO.getEmployeesByDepartment(selectedDept.getDepartmentId())
+                : employeeDAO.getAllEmployees(),
+            employees -> {
+                updateEmployeeReportTable(employees, selectedStatus);
+                updateButtonStates();
+            },
+            error -> showReportError("employee", error));
     }
     
     private void updateEmployeeReportTable(List<Employee> employees, String statusFilter) {
@@ -403,27 +476,13 @@ public class ReportsPanel extends JPanel {
         Date startDate = new Date(((java.util.Date) startDateSpinner.getValue()).getTime());
         Date endDate = new Date(((java.util.Date) endDateSpinner.getValue()).getTime());
         
-        SwingWorker<List<Payroll>, Void> worker = new SwingWorker<List<Payroll>, Void>() {
-            @Override
-            protected List<Payroll> doInBackground() throws Exception {
-                return payrollDAO.getPayrollsByDateRange(startDate, endDate);
-            }
-            
-            @Override
-            protected void done() {
-                try {
-                    List<Payroll> payrolls = get();
-                    updatePayrollReportTable(payrolls);
-                    updateButtonStates();
-                } catch (Exception e) {
-                    JOptionPane.showMessageDialog(ReportsPanel.this,
-                        "Error generating payroll report: " + e.getMessage(),
-                        "Error",
-                        JOptionPane.ERROR_MESSAGE);
-                }
-            }
-        };
-        worker.execute();
+        loadCoordinator.load("payrollReport",
+            () -> payrollDAO.getPayrollsByDateRange(startDate, endDate),
+            payrolls -> {
+                updatePayrollReportTable(payrolls);
+                updateButtonStates();
+            },
+            error -> showReportError("payroll", error));
     }
     
     private void updatePayrollReportTable(List<Payroll> payrolls) {
@@ -454,57 +513,100 @@ public class ReportsPanel extends JPanel {
     }
     
     private void generateDepartmentReport() {
-        SwingWorker<List<Department>, Void> worker = new SwingWorker<List<Department>, Void>() {
-            @Override
-            protected List<Department> doInBackground() throws Exception {
-                return departmentDAO.getAllDepartments();
-            }
-            
-            @Override
-            protected void done() {
-                try {
-                    List<Department> departments = get();
-                    updateDepartmentReportTable(departments);
-                    updateButtonStates();
-                } catch (Exception e) {
-                    JOptionPane.showMessageDialog(ReportsPanel.this,
-                        "Error generating department report: " + e.getMessage(),
-                        "Error",
-                        JOptionPane.ERROR_MESSAGE);
+        loadCoordinator.load("departmentReport",
+            departmentDAO::getDepartmentStatistics,
+            statistics -> {
+                updateDepartmentReportTable(statistics);
+                updateButtonStates();
+            },
+            error -> showReportError("department", error));
+    }
+    
+    private void generateAnalyticsReport() {
+        boolean byDepartment = "Department".equals(analyticsGroupFilter.getSelectedItem());
+        String selectedStatus = (String) analyticsStatusFilter.getSelectedItem();
+        PayrollColumnStore.Filter filter = PayrollColumnStore.Filter.all()
+            .withPeriod(toLocalDate(analyticsStartSpinner), toLocalDate(analyticsEndSpinner))
+            .withStatus("All".equals(selectedStatus) ? null : Payroll.PaymentStatus.valueOf(selectedStatus));
+        
+        // Only records created since the last refresh are fetched; the grouping runs in memory
+        loadCoordinator.load("analyticsReport",
+            () -> payrollDAO.loadPayrollColumns(payrollColumns).thenApply(appended -> {
+                if (appended < 0) {
+                    throw new IllegalStateException("Could not load payroll records");
                 }
-            }
-        };
-        worker.execute();
+                long startTime = System.nanoTime();
+                Map<?, PayrollColumnStore.Totals> groups = byDepartment
+                    ? payrollColumns.totalsByDepartment(filter)
+                    : payrollColumns.totalsByMonth(filter);
+                return new AnalyticsResult(groups, payrollColumns.size(), (System.nanoTime() - startTime) / 1000000);
+            }),
+            result -> {
+                updateAnalyticsReportTable(result.groups, byDepartment);
+                analyticsInfoLabel.setText("Grouped " + result.recordCount + " payroll records in " +
+                    result.elapsedMillis + " ms");
+                updateButtonStates();
+            },
+            error -> showReportError("analytics", error));
     }
     
-    private void updateDepartmentReportTable(List<Department> departments) {
+    private void updateAnalyticsReportTable(Map<?, PayrollColumnStore.Totals> groups, boolean byDepartment) {
+        analyticsTableModel.setRowCount(0);
+        analyticsTableModel.setColumnIdentifiers(new String[]{
+            byDepartment ? "Department" : "Month", "Payroll Records", "Gross Salary", "Deductions",
+            "Net Salary", "Average Net Salary"
+        });
+        
+        for (Map.Entry<?, PayrollColumnStore.Totals> group : groups.entrySet()) {
+            PayrollColumnStore.Totals totals = group.getValue();
+            Object[] row = {
+                byDepartment ? departmentLabel((Integer) group.getKey()) : group.getKey().toString(),
+                totals.getCount(),
+                String.format("$%.2f", totals.getGrossTotal()),
+                String.format("$%.2f", totals.getDeductionsTotal()),
+                String.format("$%.2f", totals.getNetTotal()),
+                String.format("$%.2f", totals.getNetAverage())
+            };
+            analyticsTableModel.addRow(row);
+        }
+    }
+    
+    private String departmentLabel(int departmentId) {
+        if (departmentId == 0) {
+            return "No Department";
+        }
+        String name = departmentNames.get(departmentId);
+        return name != null ? name : "Department " + departmentId;
+    }
+    
+    private static LocalDate toLocalDate(JSpinner dateSpinner) {
+        return ((java.util.Date) dateSpinner.getValue()).toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+    }
+    
+    private void showReportError(String report, Throwable error) {
+        JOptionPane.showMessageDialog(ReportsPanel.this,
+            "Error generating " + report + " report: " + error.getMessage(),
+            "Error",
+            JOptionPane.ERROR_MESSAGE);
+    }
+    
+    private void updateDepartmentReportTable(List<DepartmentStatistics> statistics) {
         departmentTableModel.setRowCount(0);
         
-        for (Department department : departments) {
-            // Get employee count and total salary for department
-            int employeeCount = departmentDAO.getEmployeeCount(department.getDepartmentId());
+        for (DepartmentStatistics stats : statistics) {
+            Department department = stats.getDepartment();
             
-            // Calculate total salary for department employees
-            List<Employee> deptEmployees = employeeDAO.getEmployeesByDepartment(department.getDepartmentId());
-            BigDecimal totalSalary = BigDecimal.ZERO;
-            for (Employee emp : deptEmployees) {
-                totalSalary = totalSalary.add(emp.getBaseSalary());
-            }
-            
-            // Calculate budget utilization
             String budgetUtilization = "N/A";
-            if (department.getBudget() != null && department.getBudget().compareTo(BigDecimal.ZERO) > 0) {
-                BigDecimal utilization = totalSalary.divide(department.getBudget(), 4, RoundingMode.HALF_UP)
-                                                   .multiply(new BigDecimal("100"));
-                budgetUtilization = String.format("%.1f%%", utilization);
+            if (stats.getBudgetUtilization() != null) {
+                budgetUtilization = String.format("%.1f%%", stats.getBudgetUtilization());
             }
             
             Object[] row = {
                 department.getDepartmentCode(),
                 department.getDepartmentName(),
                 department.getManagerName(),
-                employeeCount,
-                String.format("$%.2f", totalSalary),
+                stats.getEmployeeCount(),
+                String.format("$%.2f", stats.getTotalSalary()),
                 department.getBudget() != null ? String.format("$%.2f", department.getBudget()) : "N/A",
                 budgetUtilization
             };
@@ -588,70 +690,38 @@ public class ReportsPanel extends JPanel {
     }
     
     private void loadDepartments() {
-        SwingWorker<List<Department>, Void> worker = new SwingWorker<List<Department>, Void>() {
-            @Override
-            protected List<Department> doInBackground() throws Exception {
-                return departmentDAO.getAllDepartments();
-            }
-            
-            @Override
-            protected void done() {
-                try {
-                    List<Department> departments = get();
-                    departmentFilter.removeAllItems();
-                    departmentFilter.addItem(null); // "All departments" option
-                    for (Department dept : departments) {
-                        departmentFilter.addItem(dept);
-                    }
-                } catch (Exception e) {
-                    System.err.println("Error loading departments for filter: " + e.getMessage());
+        loadCoordinator.load("departmentFilter",
+            departmentDAO::getAllDepartments,
+            departments -> {
+                departmentFilter.removeAllItems();
+                departmentFilter.addItem(null); // "All departments" option
+                departmentNames.clear();
+                for (Department dept : departments) {
+                    departmentFilter.addItem(dept);
+                    departmentNames.put(dept.getDepartmentId(), dept.getDepartmentName());
                 }
-            }
-        };
-        worker.execute();
+            },
+            error -> System.err.println("Error loading departments for filter: " + error.getMessage()));
     }
     
     private void loadSummaryData() {
-        SwingWorker<Void, Void> worker = new SwingWorker<Void, Void>() {
-            @Override
-            protected Void doInBackground() throws Exception {
-                // Get employee statistics
-                int[] employeeStats = employeeDAO.getEmployeeStatistics();
-                
-                // Get payroll statistics
-                List<Payroll> allPayrolls = payrollDAO.getAllPayrolls();
-                BigDecimal totalSalaryPaid = BigDecimal.ZERO;
-                
-                for (Payroll payroll : allPayrolls) {
-                    if (payroll.getPaymentStatus() == Payroll.PaymentStatus.PAID) {
-                        totalSalaryPaid = totalSalaryPaid.add(payroll.getNetSalary());
-                    }
-                }
-                
-                // Make final copy for lambda
-                final BigDecimal finalTotalSalaryPaid = totalSalaryPaid;
-                
-                // Update labels on EDT
-                SwingUtilities.invokeLater(() -> {
-                    totalEmployeesLabel.setText("Total Employees: " + employeeStats[0]);
-                    activeEmployeesLabel.setText("Active Employees: " + employeeStats[1]);
-                    totalPayrollLabel.setText("Total Payroll Records: " + allPayrolls.size());
-                    totalSalaryLabel.setText("Total Salary Paid: $" + String.format("%.2f", finalTotalSalaryPaid));
-                });
-                
-                return null;
-            }
-            
-            @Override
-            protected void done() {
-                try {
-                    get();
-                } catch (Exception e) {
-                    System.err.println("Error loading summary data: " + e.getMessage());
-                }
-            }
-        };
-        worker.execute();
+        // Both queries run at the same time and update their own labels
+        loadCoordinator.load("employeeSummary",
+            employeeDAO::getEmployeeStatistics,
+            employeeStats -> {
+                totalEmployeesLabel.setText("Total Employees: " + employeeStats[0]);
+                activeEmployeesLabel.setText("Active Employees: " + employeeStats[1]);
+            },
+            error -> System.err.println("Error loading summary data: " + error.getMessage()));
+        
+        loadCoordinator.load("payrollSummary",
+            () -> payrollDAO.getPayrollStatistics(),
+            payrollStats -> {
+                totalPayrollLabel.setText("Total Payroll Records: " + payrollStats.getTotalCount());
+                totalSalaryLabel.setText("Total Salary Paid: $" +
+                    String.format("%.2f", payrollStats.getNetTotal(Payroll.PaymentStatus.PAID)));
+            },
+            error -> System.err.println("Error loading summary data: " + error.getMessage()));
     }
     
     public void refreshData() {
@@ -660,5 +730,21 @@ public class ReportsPanel extends JPanel {
         generateEmployeeReport();
         generatePayrollReport();
         generateDepartmentReport();
+        generateAnalyticsReport();
+    }
+    
+    /**
+     * Grouped totals of an analytics report, computed off the event thread
+     */
+    private static class AnalyticsResult {
+        private final Map<?, PayrollColumnStore.Totals> groups;
+        private final int recordCount;
+        private final long elapsedMillis;
+        
+        AnalyticsResult(Map<?, PayrollColumnStore.Totals> groups, int recordCount, long elapsedMillis) {
+            this.groups = groups;
+            this.recordCount = recordCount;
+            this.elapsedMillis = elapsedMillis;
+        }
     }
 }
\ No newline at end of file
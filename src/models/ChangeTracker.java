@@ -0,0 +1,64 @@
+package models;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Records which fields of a model were modified since it was last loaded from or saved to the database.
+ * Setting a field to the value it already holds is not a modification: amounts are compared by value
+ * regardless of scale, and dates by calendar day.
+ * @param <F> Enum of the tracked fields
+ */
+final class ChangeTracker<F extends Enum<F>> {
+    private final EnumSet<F> changed;
+    
+    ChangeTracker(Class<F> fieldType) {
+        this.changed = EnumSet.noneOf(fieldType);
+    }
+    
+    /**
+     * Record a field as modified if its new value differs from the old one
+     * @return true if the value changed
+     */
+    boolean record(F field, Object oldValue, Object newValue) {
+        if (sameValue(oldValue, newValue)) {
+            return false;
+        }
+        changed.add(field);
+        return true;
+    }
+    
+    boolean isEmpty() {
+        return changed.isEmpty();
+    }
+    
+    /**
+     * @return Snapshot of the modified fields, in declaration order
+     */
+    Set<F> getChanged() {
+        return changed.isEmpty() ? Collections.<F>emptySet() : Collections.unmodifiableSet(EnumSet.copyOf(changed));
+    }
+    
+    void clear() {
+        changed.clear();
+    }
+    
+    void copyFrom(ChangeTracker<F> other) {
+        changed.clear();
+        changed.addAll(other.changed);
+    }
+    
+    private static boolean sameValue(Object a, Object b) {
+        if (a instanceof BigDecimal && b instanceof BigDecimal) {
+            return ((BigDecimal) a).compareTo((BigDecimal) b) == 0;
+        }
+        if (a instanceof java.sql.Date && b instanceof java.sql.Date) {
+            // Dates built from a spinner carry the time of day; the DATE column does not
+            return ((java.sql.Date) a).toLocalDate().equals(((java.sql.Date) b).toLocalDate());
+        }
+        return Objects.equals(a, b);
+    }
+}
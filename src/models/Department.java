@@ -35,6 +35,20 @@ public class Department {
         this.isActive = true;
     }
     
+    /**
+     * Copy constructor
+     * @param other Department to copy
+     */
+    public Department(Department other) {
+        this.departmentId = other.departmentId;
+        this.departmentName = other.departmentName;
+        this.departmentCode = other.departmentCode;
+        this.managerName = other.managerName;
+        this.budget = other.budget;
+        this.createdAt = other.createdAt;
+        this.isActive = other.isActive;
+    }
+    
     // Getters and Setters
     public int getDepartmentId() {
         return departmentId;
@@ -0,0 +1,76 @@
+package models;
+
+import java.math.BigDecimal;
+
+/**
+ * Headcount and salary totals for one department, computed by the database
+ */
+public class DepartmentStatistics {
+    private Department department;
+    private int employeeCount;
+    private BigDecimal totalSalary;
+    private BigDecimal budgetUtilization;
+
+    // Constructors
+    public DepartmentStatistics() {}
+
+    public DepartmentStatistics(Department department, int employeeCount, BigDecimal totalSalary,
+                                BigDecimal budgetUtilization) {
+        this.department = department;
+        this.employeeCount = employeeCount;
+        this.totalSalary = totalSalary;
+        this.budgetUtilization = budgetUtilization;
+    }
+
+    // Getters and Setters
+    public Department getDepartment() {
+        return department;
+    }
+
+    public void setDepartment(Department department) {
+        this.department = department;
+    }
+
+    /**
+     * @return Number of active employees in the department
+     */
+    public int getEmployeeCount() {
+        return employeeCount;
+    }
+
+    public void setEmployeeCount(int employeeCount) {
+        this.employeeCount = employeeCount;
+    }
+
+    /**
+     * @return Sum of base salary of active employees in the department
+     */
+    public BigDecimal getTotalSalary() {
+        return totalSalary;
+    }
+
+    public void setTotalSalary(BigDecimal totalSalary) {
+        this.totalSalary = totalSalary;
+    }
+
+    /**
+     * @return Total salary as a percentage of the budget, or null if the department has no budget
+     */
+    public BigDecimal getBudgetUtilization() {
+        return budgetUtilization;
+    }
+
+    public void setBudgetUtilization(BigDecimal budgetUtilization) {
+        this.budgetUtilization = budgetUtilization;
+    }
+
+    @Override
+    public String toString() {
+        return "DepartmentStatistics{" +
+                "department=" + department +
+                ", employeeCount=" + employeeCount +
+                ", totalSalary=" + totalSalary +
+                ", budgetUtilization=" + budgetUtilization +
+                '}';
+    }
+}
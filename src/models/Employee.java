@@ -3,6 +3,7 @@ package models;
 import java.math.BigDecimal;
 import java.sql.Date;
 import java.sql.Timestamp;
+import java.util.Set;
 
 /**
  * Employee model class
@@ -25,11 +26,45 @@ public class Employee {
     private Timestamp createdAt;
     private Timestamp updatedAt;
     
+    // Fields modified since the record was loaded or saved
+    private final ChangeTracker<Field> changes = new ChangeTracker<>(Field.class);
+    
     // Enum for employment status
     public enum EmploymentStatus {
         ACTIVE, INACTIVE, TERMINATED
     }
     
+    /**
+     * Fields stored in the employees table that can be changed by an update
+     */
+    public enum Field {
+        EMPLOYEE_CODE("employee_code"),
+        FIRST_NAME("first_name"),
+        LAST_NAME("last_name"),
+        EMAIL("email"),
+        PHONE("phone"),
+        ADDRESS("address"),
+        DATE_OF_BIRTH("date_of_birth"),
+        HIRE_DATE("hire_date"),
+        DEPARTMENT_ID("department_id"),
+        POSITION("position"),
+        BASE_SALARY("base_salary"),
+        EMPLOYMENT_STATUS("employment_status");
+        
+        private final String column;
+        
+        Field(String column) {
+            this.column = column;
+        }
+        
+        /**
+         * @return Name of the database column
+         */
+        public String getColumn() {
+            return column;
+        }
+    }
+    
     // Constructors
     public Employee() {}
     
@@ -46,6 +81,51 @@ public class Employee {
         this.employmentStatus = EmploymentStatus.ACTIVE;
     }
     
+    /**
+     * Copy constructor
+     * @param other Employee to copy
+     */
+    public Employee(Employee other) {
+        this.employeeId = other.employeeId;
+        this.employeeCode = other.employeeCode;
+        this.firstName = other.firstName;
+        this.lastName = other.lastName;
+        this.email = other.email;
+        this.phone = other.phone;
+        this.address = other.address;
+        this.dateOfBirth = other.dateOfBirth;
+        this.hireDate = other.hireDate;
+        this.departmentId = other.departmentId;
+        this.departmentName = other.departmentName;
+        this.position = other.position;
+        this.baseSalary = other.baseSalary;
+        this.employmentStatus = other.employmentStatus;
+        this.createdAt = other.createdAt;
+        this.updatedAt = other.updatedAt;
+        this.changes.copyFrom(other.changes);
+    }
+    
+    /**
+     * @return true if a stored field was modified since the record was loaded or saved
+     */
+    public boolean isDirty() {
+        return !changes.isEmpty();
+    }
+    
+    /**
+     * @return Stored fields modified since the record was loaded or saved
+     */
+    public Set<Field> getChangedFields() {
+        return changes.getChanged();
+    }
+    
+    /**
+     * Mark the record as matching the database, e.g. after loading or saving it
+     */
+    public void markClean() {
+        changes.clear();
+    }
+    
     // Getters and Setters
     public int getEmployeeId() {
         return employeeId;
@@ -60,6 +140,7 @@ public class Employee {
     }
     
     public void setEmployeeCode(String employeeCode) {
+        changes.record(Field.EMPLOYEE_CODE, this.employeeCode, employeeCode);
         this.employeeCode = employeeCode;
     }
     
@@ -68,6 +149,7 @@ public class Employee {
     }
     
     public void setFirstName(String firstName) {
+        changes.record(Field.FIRST_NAME, this.firstName, firstName);
         this.firstName = firstName;
     }
     
@@ -76,6 +158,7 @@ public class Employee {
     }
     
     public void setLastName(String lastName) {
+        changes.record(Field.LAST_NAME, this.lastName, lastName);
         this.lastName = lastName;
     }
     
@@ -88,6 +171,7 @@ public class Employee {
     }
     
     public void setEmail(String email) {
+        changes.record(Field.EMAIL, this.email, email);
         this.email = email;
     }
     
@@ -96,6 +180,7 @@ public class Employee {
     }
     
     public void setPhone(String phone) {
+        changes.record(Field.PHONE, this.phone, phone);
         this.phone = phone;
     }
     
@@ -104,6 +189,7 @@ public class Employee {
     }
     
     public void setAddress(String address) {
+        changes.record(Field.ADDRESS, this.address, address);
         this.address = address;
     }
     
@@ -112,6 +198,7 @@ public class Employee {
     }
     
     public void setDateOfBirth(Date dateOfBirth) {
+        changes.record(Field.DATE_OF_BIRTH, this.dateOfBirth, dateOfBirth);
         this.dateOfBirth = dateOfBirth;
     }
     
@@ -120,6 +207,7 @@ public class Employee {
     }
     
     public void setHireDate(Date hireDate) {
+        changes.record(Field.HIRE_DATE, this.hireDate, hireDate);
         this.hireDate = hireDate;
     }
     
@@ -128,6 +216,7 @@ public class Employee {
     }
     
     public void setDepartmentId(int departmentId) {
+        changes.record(Field.DEPARTMENT_ID, this.departmentId, departmentId);
         this.departmentId = departmentId;
     }
     
@@ -144,6 +233,7 @@ public class Employee {
     }
     
     public void setPosition(String position) {
+        changes.record(Field.POSITION, this.position, position);
         this.position = position;
     }
     
@@ -152,6 +242,7 @@ public class Employee {
     }
     
     public void setBaseSalary(BigDecimal baseSalary) {
+        changes.record(Field.BASE_SALARY, this.baseSalary, baseSalary);
         this.baseSalary = baseSalary;
     }
     
@@ -160,6 +251,7 @@ public class Employee {
     }
     
     public void setEmploymentStatus(EmploymentStatus employmentStatus) {
+        changes.record(Field.EMPLOYMENT_STATUS, this.employmentStatus, employmentStatus);
         this.employmentStatus = employmentStatus;
     }
     
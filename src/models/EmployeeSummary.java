@@ -0,0 +1,144 @@
+package models;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+
+/**
+ * Lightweight employee row for list views.
+ * Holds only the columns shown in the employee grid; load the full {@link Employee} when a row is opened.
+ */
+public class EmployeeSummary {
+    private int employeeId;
+    private String employeeCode;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private String phone;
+    private String departmentName;
+    private String position;
+    private BigDecimal baseSalary;
+    private Employee.EmploymentStatus employmentStatus;
+    private Date hireDate;
+    
+    // Constructors
+    public EmployeeSummary() {}
+    
+    /**
+     * Create a summary row from a fully loaded employee
+     * @param employee Employee to summarize
+     * @return Summary with the grid columns of the employee
+     */
+    public static EmployeeSummary from(Employee employee) {
+        EmployeeSummary summary = new EmployeeSummary();
+        summary.setEmployeeId(employee.getEmployeeId());
+        summary.setEmployeeCode(employee.getEmployeeCode());
+        summary.setFirstName(employee.getFirstName());
+        summary.setLastName(employee.getLastName());
+        summary.setEmail(employee.getEmail());
+        summary.setPhone(employee.getPhone());
+        summary.setDepartmentName(employee.getDepartmentName());
+        summary.setPosition(employee.getPosition());
+        summary.setBaseSalary(employee.getBaseSalary());
+        summary.setEmploymentStatus(employee.getEmploymentStatus());
+        summary.setHireDate(employee.getHireDate());
+        return summary;
+    }
+    
+    // Getters and Setters
+    public int getEmployeeId() {
+        return employeeId;
+    }
+    
+    public void setEmployeeId(int employeeId) {
+        this.employeeId = employeeId;
+    }
+    
+    public String getEmployeeCode() {
+        return employeeCode;
+    }
+    
+    public void setEmployeeCode(String employeeCode) {
+        this.employeeCode = employeeCode;
+    }
+    
+    public String getFirstName() {
+        return firstName;
+    }
+    
+    public void setFirstName(String firstName) {
+        this.firstName = firstName;
+    }
+    
+    public String getLastName() {
+        return lastName;
+    }
+    
+    public void setLastName(String lastName) {
+        this.lastName = lastName;
+    }
+    
+    public String getFullName() {
+        return firstName + " " + lastName;
+    }
+    
+    public String getEmail() {
+        return email;
+    }
+    
+    public void setEmail(String email) {
+        this.email = email;
+    }
+    
+    public String getPhone() {
+        return phone;
+    }
+    
+    public void setPhone(String phone) {
+        this.phone = phone;
+    }
+    
+    public String getDepartmentName() {
+        return departmentName;
+    }
+    
+    public void setDepartmentName(String departmentName) {
+        this.departmentName = departmentName;
+    }
+    
+    public String getPosition() {
+        return position;
+    }
+    
+    public void setPosition(String position) {
+        this.position = position;
+    }
+    
+    public BigDecimal getBaseSalary() {
+        return baseSalary;
+    }
+    
+    public void setBaseSalary(BigDecimal baseSalary) {
+        this.baseSalary = baseSalary;
+    }
+    
+    public Employee.EmploymentStatus getEmploymentStatus() {
+        return employmentStatus;
+    }
+    
+    public void setEmploymentStatus(Employee.EmploymentStatus employmentStatus) {
+        this.employmentStatus = employmentStatus;
+    }
+    
+    public Date getHireDate() {
+        return hireDate;
+    }
+    
+    public void setHireDate(Date hireDate) {
+        this.hireDate = hireDate;
+    }
+    
+    @Override
+    public String toString() {
+        return employeeCode + " - " + getFullName();
+    }
+}
@@ -0,0 +1,129 @@
+package models;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Fixed-point arithmetic on amounts held as a long number of hundredths: cents for money, and hundredths
+ * of an hour or of a rate for the other DECIMAL(x,2) payroll columns.
+ * Calculations stay in primitive longs and round once, with an explicit rounding mode, where a result
+ * has to fit in two decimals; amounts are converted from and to BigDecimal only at the model/JDBC boundary.
+ */
+public final class Money {
+    /**
+     * Rounding used for payroll amounts, matching how MySQL rounds values stored in DECIMAL columns
+     */
+    public static final RoundingMode ROUNDING = RoundingMode.HALF_UP;
+    
+    private Money() {}
+    
+    /**
+     * Convert an amount to hundredths, rounding extra decimals with {@link #ROUNDING}
+     * @param amount Amount, null is treated as zero
+     * @return Amount in hundredths
+     * @throws ArithmeticException if the amount does not fit in a long
+     */
+    public static long toCents(BigDecimal amount) {
+        if (amount == null) {
+            return 0;
+        }
+        return amount.setScale(2, ROUNDING).unscaledValue().longValueExact();
+    }
+    
+    /**
+     * @param cents Amount in hundredths
+     * @return Amount with scale 2
+     */
+    public static BigDecimal toBigDecimal(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+    
+    /**
+     * Calculate a * b / divisor with a single rounding step
+     * @param a First factor
+     * @param b Second factor
+     * @param divisor Divisor, must not be zero
+     * @param roundingMode How to round the quotient
+     * @return Rounded quotient
+     * @throws ArithmeticException if the divisor is zero or the result does not fit in a long
+     */
+    public static long multiplyDivide(long a, long b, long divisor, RoundingMode roundingMode) {
+        long product;
+        try {
+            product = Math.multiplyExact(a, b);
+        } catch (ArithmeticException overflow) {
+            // Only reached for amounts far beyond any salary; exact but slower
+            return BigDecimal.valueOf(a).multiply(BigDecimal.valueOf(b))
+                             .divide(BigDecimal.valueOf(divisor), 0, roundingMode)
+                             .longValueExact();
+        }
+        return divide(product, divisor, roundingMode);
+    }
+    
+    /**
+     * Calculate dividend / divisor rounded to a whole number
+     * @param dividend Dividend
+     * @param divisor Divisor, must not be zero
+     * @param roundingMode How to round the quotient
+     * @return Rounded quotient
+     * @throws ArithmeticException if the divisor is zero, or the mode is UNNECESSARY and rounding is needed
+     */
+    public static long divide(long dividend, long divisor, RoundingMode roundingMode) {
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        if (remainder == 0) {
+            return quotient;
+        }
+        
+        // Sign of the exact result, and how the discarded fraction compares to one half
+        int signum = (dividend < 0) == (divisor < 0) ? 1 : -1;
+        int halfComparison = Long.compare(Math.abs(remainder), Math.abs(divisor) - Math.abs(remainder));
+        
+        boolean awayFromZero;
+        switch (roundingMode) {
+            case UP:
+                awayFromZero = true;
+                break;
+            case DOWN:
+                awayFromZero = false;
+                break;
+            case CEILING:
+                awayFromZero = signum > 0;
+                break;
+            case FLOOR:
+                awayFromZero = signum < 0;
+                break;
+            case HALF_UP:
+                awayFromZero = halfComparison >= 0;
+                break;
+            case HALF_DOWN:
+                awayFromZero = halfComparison > 0;
+                break;
+            case HALF_EVEN:
+                awayFromZero = halfComparison > 0 || (halfComparison == 0 && (quotient & 1) != 0);
+                break;
+            default:
+                throw new ArithmeticException("Rounding necessary");
+        }
+        return awayFromZero ? quotient + signum : quotient;
+    }
+    
+    /**
+     * Apply a rate given in basis points (1/100 of a percent) to an amount
+     * @param cents Amount in cents
+     * @param basisPoints Rate, e.g. 1500 for 15%
+     * @param roundingMode How to round the result to a cent
+     * @return Amount times rate in cents
+     */
+    public static long applyRate(long cents, long basisPoints, RoundingMode roundingMode) {
+        return multiplyDivide(cents, basisPoints, 10000, roundingMode);
+    }
+    
+    /**
+     * @param rate Rate as a fraction, e.g. 0.15
+     * @return Rate in basis points, e.g. 1500
+     */
+    public static long toBasisPoints(double rate) {
+        return Math.round(rate * 10000);
+    }
+}
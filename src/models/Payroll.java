@@ -3,6 +3,7 @@ package models;
 import java.math.BigDecimal;
 import java.sql.Date;
 import java.sql.Timestamp;
+import java.util.Set;
 
 /**
  * Payroll model class
@@ -31,11 +32,51 @@ public class Payroll {
     private int createdBy;
     private Timestamp createdAt;
     
+    // Fields modified since the record was loaded or saved, and whether the salary totals need recalculating
+    private final ChangeTracker<Field> changes = new ChangeTracker<>(Field.class);
+    private boolean salaryStale = true;
+    
     // Enum for payment status
     public enum PaymentStatus {
         PENDING, PAID, CANCELLED
     }
     
+    /**
+     * Fields stored in the payroll table that can be changed by an update
+     */
+    public enum Field {
+        EMPLOYEE_ID("employee_id"),
+        PAY_PERIOD_START("pay_period_start"),
+        PAY_PERIOD_END("pay_period_end"),
+        BASE_SALARY("base_salary"),
+        OVERTIME_HOURS("overtime_hours"),
+        OVERTIME_RATE("overtime_rate"),
+        OVERTIME_PAY("overtime_pay"),
+        BONUS("bonus"),
+        ALLOWANCES("allowances"),
+        GROSS_SALARY("gross_salary"),
+        TAX_DEDUCTION("tax_deduction"),
+        INSURANCE_DEDUCTION("insurance_deduction"),
+        OTHER_DEDUCTIONS("other_deductions"),
+        TOTAL_DEDUCTIONS("total_deductions"),
+        NET_SALARY("net_salary"),
+        PAYMENT_DATE("payment_date"),
+        PAYMENT_STATUS("payment_status");
+        
+        private final String column;
+        
+        Field(String column) {
+            this.column = column;
+        }
+        
+        /**
+         * @return Name of the database column
+         */
+        public String getColumn() {
+            return column;
+        }
+    }
+    
     // Constructors
     public Payroll() {}
     
@@ -56,20 +97,58 @@ public class Payroll {
         calculateSalary();
     }
     
-    // Calculate gross salary, total deductions, and net salary
+    // Calculate gross salary, total deductions, and net salary in fixed-point cents.
+    // Does nothing if no amount changed since the last calculation, load or save.
     public void calculateSalary() {
-        // Calculate overtime pay
-        this.overtimePay = this.overtimeHours.multiply(this.baseSalary.divide(new BigDecimal("160")))
-                                           .multiply(this.overtimeRate);
+        if (!salaryStale) {
+            return;
+        }
+        
+        long baseCents = Money.toCents(this.baseSalary);
+        
+        // Calculate overtime pay: hours x (base salary / 160 hours per month) x rate, rounded once to the cent.
+        // Hours and rate are in hundredths, so their product is in ten-thousandths.
+        long hoursTimesRate = Money.toCents(this.overtimeHours) * Money.toCents(this.overtimeRate);
+        long overtimeCents = Money.multiplyDivide(baseCents, hoursTimesRate, 160L * 10000, Money.ROUNDING);
         
         // Calculate gross salary
-        this.grossSalary = this.baseSalary.add(this.overtimePay).add(this.bonus).add(this.allowances);
+        long grossCents = baseCents + overtimeCents + Money.toCents(this.bonus) + Money.toCents(this.allowances);
         
         // Calculate total deductions
-        this.totalDeductions = this.taxDeduction.add(this.insuranceDeduction).add(this.otherDeductions);
+        long deductionCents = Money.toCents(this.taxDeduction) + Money.toCents(this.insuranceDeduction)
+                              + Money.toCents(this.otherDeductions);
         
         // Calculate net salary
-        this.netSalary = this.grossSalary.subtract(this.totalDeductions);
+        long netCents = grossCents - deductionCents;
+        
+        setOvertimePay(Money.toBigDecimal(overtimeCents));
+        setGrossSalary(Money.toBigDecimal(grossCents));
+        setTotalDeductions(Money.toBigDecimal(deductionCents));
+        setNetSalary(Money.toBigDecimal(netCents));
+        salaryStale = false;
+    }
+    
+    /**
+     * @return true if a stored field was modified since the record was loaded or saved
+     */
+    public boolean isDirty() {
+        return !changes.isEmpty();
+    }
+    
+    /**
+     * @return Stored fields modified since the record was loaded or saved
+     */
+    public Set<Field> getChangedFields() {
+        return changes.getChanged();
+    }
+    
+    /**
+     * Mark the record as matching the database, e.g. after loading or saving it.
+     * The stored totals are taken as calculated until an amount is changed again.
+     */
+    public void markClean() {
+        changes.clear();
+        salaryStale = false;
     }
     
     // Getters and Setters
@@ -86,6 +165,7 @@ public class Payroll {
     }
     
     public void setEmployeeId(int employeeId) {
+        changes.record(Field.EMPLOYEE_ID, this.employeeId, employeeId);
         this.employeeId = employeeId;
     }
     
@@ -110,6 +190,7 @@ public class Payroll {
     }
     
     public void setPayPeriodStart(Date payPeriodStart) {
+        changes.record(Field.PAY_PERIOD_START, this.payPeriodStart, payPeriodStart);
         this.payPeriodStart = payPeriodStart;
     }
     
@@ -118,6 +199,7 @@ public class Payroll {
     }
     
     public void setPayPeriodEnd(Date payPeriodEnd) {
+        changes.record(Field.PAY_PERIOD_END, this.payPeriodEnd, payPeriodEnd);
         this.payPeriodEnd = payPeriodEnd;
     }
     
@@ -126,6 +208,9 @@ public class Payroll {
     }
     
     public void setBaseSalary(BigDecimal baseSalary) {
+        if (changes.record(Field.BASE_SALARY, this.baseSalary, baseSalary)) {
+            salaryStale = true;
+        }
         this.baseSalary = baseSalary;
     }
     
@@ -134,6 +219,9 @@ public class Payroll {
     }
     
     public void setOvertimeHours(BigDecimal overtimeHours) {
+        if (changes.record(Field.OVERTIME_HOURS, this.overtimeHours, overtimeHours)) {
+            salaryStale = true;
+        }
         this.overtimeHours = overtimeHours;
     }
     
@@ -142,6 +230,9 @@ public class Payroll {
     }
     
     public void setOvertimeRate(BigDecimal overtimeRate) {
+        if (changes.record(Field.OVERTIME_RATE, this.overtimeRate, overtimeRate)) {
+            salaryStale = true;
+        }
         this.overtimeRate = overtimeRate;
     }
     
@@ -150,6 +241,9 @@ public class Payroll {
     }
     
     public void setOvertimePay(BigDecimal overtimePay) {
+        if (changes.record(Field.OVERTIME_PAY, this.overtimePay, overtimePay)) {
+            salaryStale = true;
+        }
         this.overtimePay = overtimePay;
     }
     
@@ -158,6 +252,9 @@ public class Payroll {
     }
     
     public void setBonus(BigDecimal bonus) {
+        if (changes.record(Field.BONUS, this.bonus, bonus)) {
+            salaryStale = true;
+        }
         this.bonus = bonus;
     }
     
@@ -166,6 +263,9 @@ public class Payroll {
     }
     
     public void setAllowances(BigDecimal allowances) {
+        if (changes.record(Field.ALLOWANCES, this.allowances, allowances)) {
+            salaryStale = true;
+        }
         this.allowances = allowances;
     }
     
@@ -174,6 +274,9 @@ public class Payroll {
     }
     
     public void setGrossSalary(BigDecimal grossSalary) {
+        if (changes.record(Field.GROSS_SALARY, this.grossSalary, grossSalary)) {
+            salaryStale = true;
+        }
         this.grossSalary = grossSalary;
     }
     
@@ -182,6 +285,9 @@ public class Payroll {
     }
     
     public void setTaxDeduction(BigDecimal taxDeduction) {
+        if (changes.record(Field.TAX_DEDUCTION, this.taxDeduction, taxDeduction)) {
+            salaryStale = true;
+        }
         this.taxDeduction = taxDeduction;
     }
     
@@ -190,6 +296,9 @@ public class Payroll {
     }
     
     public void setInsuranceDeduction(BigDecimal insuranceDeduction) {
+        if (changes.record(Field.INSURANCE_DEDUCTION, this.insuranceDeduction, insuranceDeduction)) {
+            salaryStale = true;
+        }
         this.insuranceDeduction = insuranceDeduction;
     }
     
@@ -198,6 +307,9 @@ public class Payroll {
     }
     
     public void setOtherDeductions(BigDecimal otherDeductions) {
+        if (changes.record(Field.OTHER_DEDUCTIONS, this.otherDeductions, otherDeductions)) {
+            salaryStale = true;
+        }
         this.otherDeductions = otherDeductions;
     }
     
@@ -206,6 +318,9 @@ public class Payroll {
     }
     
     public void setTotalDeductions(BigDecimal totalDeductions) {
+        if (changes.record(Field.TOTAL_DEDUCTIONS, this.totalDeductions, totalDeductions)) {
+            salaryStale = true;
+        }
         this.totalDeductions = totalDeductions;
     }
     
@@ -214,6 +329,9 @@ public class Payroll {
     }
     
     public void setNetSalary(BigDecimal netSalary) {
+        if (changes.record(Field.NET_SALARY, this.netSalary, netSalary)) {
+            salaryStale = true;
+        }
         this.netSalary = netSalary;
     }
     
@@ -222,6 +340,7 @@ public class Payroll {
     }
     
     public void setPaymentDate(Date paymentDate) {
+        changes.record(Field.PAYMENT_DATE, this.paymentDate, paymentDate);
         this.paymentDate = paymentDate;
     }
     
@@ -230,6 +349,7 @@ public class Payroll {
     }
     
     public void setPaymentStatus(PaymentStatus paymentStatus) {
+        changes.record(Field.PAYMENT_STATUS, this.paymentStatus, paymentStatus);
         this.paymentStatus = paymentStatus;
     }
     
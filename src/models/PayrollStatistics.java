@@ -0,0 +1,86 @@
+package models;
+
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Payroll totals grouped by payment status, computed by the database
+ */
+public class PayrollStatistics {
+    private final Map<Payroll.PaymentStatus, Integer> counts = new EnumMap<>(Payroll.PaymentStatus.class);
+    private final Map<Payroll.PaymentStatus, BigDecimal> grossTotals = new EnumMap<>(Payroll.PaymentStatus.class);
+    private final Map<Payroll.PaymentStatus, BigDecimal> netTotals = new EnumMap<>(Payroll.PaymentStatus.class);
+
+    // Constructors
+    public PayrollStatistics() {}
+
+    /**
+     * Record the totals for one payment status
+     * @param status Payment status
+     * @param count Number of payroll records
+     * @param grossTotal Sum of gross salary
+     * @param netTotal Sum of net salary
+     */
+    public void setStatusTotals(Payroll.PaymentStatus status, int count, BigDecimal grossTotal, BigDecimal netTotal) {
+        counts.put(status, count);
+        grossTotals.put(status, grossTotal != null ? grossTotal : BigDecimal.ZERO);
+        netTotals.put(status, netTotal != null ? netTotal : BigDecimal.ZERO);
+    }
+
+    public int getCount(Payroll.PaymentStatus status) {
+        Integer count = counts.get(status);
+        return count != null ? count : 0;
+    }
+
+    public BigDecimal getGrossTotal(Payroll.PaymentStatus status) {
+        BigDecimal total = grossTotals.get(status);
+        return total != null ? total : BigDecimal.ZERO;
+    }
+
+    public BigDecimal getNetTotal(Payroll.PaymentStatus status) {
+        BigDecimal total = netTotals.get(status);
+        return total != null ? total : BigDecimal.ZERO;
+    }
+
+    /**
+     * @return Number of payroll records across all statuses
+     */
+    public int getTotalCount() {
+        int total = 0;
+        for (Integer count : counts.values()) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * @return Gross salary across all statuses
+     */
+    public BigDecimal getTotalGross() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (BigDecimal amount : grossTotals.values()) {
+            total = total.add(amount);
+        }
+        return total;
+    }
+
+    /**
+     * @return Net salary across all statuses
+     */
+    public BigDecimal getTotalNet() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (BigDecimal amount : netTotals.values()) {
+            total = total.add(amount);
+        }
+        return total;
+    }
+
+    @Override
+    public String toString() {
+        return "PayrollStatistics{" +
+                "counts=" + counts +
+                ", netTotals=" + netTotals +
+                '}';
+    }
+}
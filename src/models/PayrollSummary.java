@@ -0,0 +1,143 @@
+package models;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+
+/**
+ * Lightweight payroll row for list views.
+ * Holds only the columns shown in the payroll grid; load the full {@link Payroll} when a row is opened.
+ */
+public class PayrollSummary {
+    private int payrollId;
+    private String employeeCode;
+    private String employeeName;
+    private Date payPeriodStart;
+    private Date payPeriodEnd;
+    private BigDecimal baseSalary;
+    private BigDecimal overtimePay;
+    private BigDecimal bonus;
+    private BigDecimal grossSalary;
+    private BigDecimal totalDeductions;
+    private BigDecimal netSalary;
+    private Payroll.PaymentStatus paymentStatus;
+    private Date paymentDate;
+    
+    // Constructors
+    public PayrollSummary() {}
+    
+    // Getters and Setters
+    public int getPayrollId() {
+        return payrollId;
+    }
+    
+    public void setPayrollId(int payrollId) {
+        this.payrollId = payrollId;
+    }
+    
+    public String getEmployeeCode() {
+        return employeeCode;
+    }
+    
+    public void setEmployeeCode(String employeeCode) {
+        this.employeeCode = employeeCode;
+    }
+    
+    public String getEmployeeName() {
+        return employeeName;
+    }
+    
+    public void setEmployeeName(String employeeName) {
+        this.employeeName = employeeName;
+    }
+    
+    public Date getPayPeriodStart() {
+        return payPeriodStart;
+    }
+    
+    public void setPayPeriodStart(Date payPeriodStart) {
+        this.payPeriodStart = payPeriodStart;
+    }
+    
+    public Date getPayPeriodEnd() {
+        return payPeriodEnd;
+    }
+    
+    public void setPayPeriodEnd(Date payPeriodEnd) {
+        this.payPeriodEnd = payPeriodEnd;
+    }
+    
+    public BigDecimal getBaseSalary() {
+        return baseSalary;
+    }
+    
+    public void setBaseSalary(BigDecimal baseSalary) {
+        this.baseSalary = baseSalary;
+    }
+    
+    public BigDecimal getOvertimePay() {
+        return overtimePay;
+    }
+    
+    public void setOvertimePay(BigDecimal overtimePay) {
+        this.overtimePay = overtimePay;
+    }
+    
+    public BigDecimal getBonus() {
+        return bonus;
+    }
+    
+    public void setBonus(BigDecimal bonus) {
+        this.bonus = bonus;
+    }
+    
+    public BigDecimal getGrossSalary() {
+        return grossSalary;
+    }
+    
+    public void setGrossSalary(BigDecimal grossSalary) {
+        this.grossSalary = grossSalary;
+    }
+    
+    public BigDecimal getTotalDeductions() {
+        return totalDeductions;
+    }
+    
+    public void setTotalDeductions(BigDecimal totalDeductions) {
+        this.totalDeductions = totalDeductions;
+    }
+    
+    public BigDecimal getNetSalary() {
+        return netSalary;
+    }
+    
+    public void setNetSalary(BigDecimal netSalary) {
+        this.netSalary = netSalary;
+    }
+    
+    public Payroll.PaymentStatus getPaymentStatus() {
+        return paymentStatus;
+    }
+    
+    public void setPaymentStatus(Payroll.PaymentStatus paymentStatus) {
+        this.paymentStatus = paymentStatus;
+    }
+    
+    public Date getPaymentDate() {
+        return paymentDate;
+    }
+    
+    public void setPaymentDate(Date paymentDate) {
+        this.paymentDate = paymentDate;
+    }
+    
+    @Override
+    public String toString() {
+        return "PayrollSummary{" +
+                "payrollId=" + payrollId +
+                ", employeeCode='" + employeeCode + '\'' +
+                ", payPeriod=" + payPeriodStart + " to " + payPeriodEnd +
+                ", netSalary=" + netSalary +
+                ", status=" + paymentStatus +
+                '}';
+    }
+}
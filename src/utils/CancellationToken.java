@@ -0,0 +1,108 @@
+package utils;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.function.Supplier;
+
+/**
+ * Lets one thread cancel database work running on another.
+ * While a task runs through {@link #runWith(CancellationToken, Supplier)}, every statement it creates on a
+ * pooled connection is registered with the token, and {@link #cancel()} calls Statement.cancel() on them
+ * so the server stops the query instead of finishing work nobody will look at.
+ */
+public class CancellationToken {
+    private static final ThreadLocal<CancellationToken> current = new ThreadLocal<>();
+
+    private final List<Statement> statements = new ArrayList<>();
+    private boolean cancelled = false;
+
+    /**
+     * Run a task with this token as the current thread's token
+     * @param token Token to install
+     * @param task Database work to run
+     * @return Result of the task
+     * @throws CancellationException if the token is cancelled before the task starts
+     */
+    public static <T> T runWith(CancellationToken token, Supplier<T> task) {
+        CancellationToken previous = current.get();
+        current.set(token);
+        try {
+            if (token.isCancelled()) {
+                throw new CancellationException("Cancelled before it started");
+            }
+            return task.get();
+        } finally {
+            if (previous != null) {
+                current.set(previous);
+            } else {
+                current.remove();
+            }
+        }
+    }
+
+    /**
+     * @return Token of the task running on this thread, or null
+     */
+    public static CancellationToken current() {
+        return current.get();
+    }
+
+    /**
+     * Called by the connection pool for every statement created by the current thread
+     * @param statement Statement to cancel if the current token is cancelled
+     */
+    static void registerWithCurrent(Statement statement) {
+        CancellationToken token = current.get();
+        if (token != null) {
+            token.register(statement);
+        }
+    }
+
+    private void register(Statement statement) {
+        boolean cancelNow;
+        synchronized (this) {
+            cancelNow = cancelled;
+            if (!cancelNow) {
+                statements.add(statement);
+            }
+        }
+        if (cancelNow) {
+            cancelQuietly(statement);
+        }
+    }
+
+    /**
+     * Cancel the task, stopping any query it has in flight
+     */
+    public void cancel() {
+        List<Statement> toCancel;
+        synchronized (this) {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            toCancel = new ArrayList<>(statements);
+            statements.clear();
+        }
+        for (Statement statement : toCancel) {
+            cancelQuietly(statement);
+        }
+    }
+
+    public synchronized boolean isCancelled() {
+        return cancelled;
+    }
+
+    private static void cancelQuietly(Statement statement) {
+        try {
+            if (!statement.isClosed()) {
+                statement.cancel();
+            }
+        } catch (SQLException e) {
+            // Statement finished or was closed in the meantime, nothing left to cancel
+        }
+    }
+}
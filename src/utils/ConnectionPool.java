@@ -0,0 +1,349 @@
+package utils;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded JDBC connection pool.
+ * Connections are borrowed with {@link #borrow()} and handed back by calling close()
+ * on the returned connection. Idle connections are validated and evicted in the background
+ * so borrowing never costs a round trip to the server. Each physical connection keeps its own
+ * {@link StatementCache} so frequently used SQL is prepared once per connection.
+ */
+public class ConnectionPool {
+
+    /**
+     * Creates new physical connections for the pool
+     */
+    public interface ConnectionFactory {
+        Connection create() throws SQLException;
+    }
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 5;
+
+    private final ConnectionFactory factory;
+    private final int maxConnections;
+    private final long connectionTimeout;
+    private final long idleTimeout;
+    private final int statementCacheSize;
+    private final Semaphore permits;
+    private final LinkedBlockingDeque<PooledConnection> idleConnections = new LinkedBlockingDeque<>();
+    private final ScheduledExecutorService maintenance;
+    private volatile boolean closed = false;
+
+    /**
+     * Create a connection pool
+     * @param factory Factory for physical connections
+     * @param maxConnections Maximum number of connections open at the same time
+     * @param connectionTimeout Maximum time in milliseconds to wait for a free connection
+     * @param idleTimeout Time in milliseconds after which an unused connection is closed
+     * @param validationInterval Time in milliseconds between background validation runs
+     * @param statementCacheSize Maximum number of prepared statements cached per connection
+     */
+    public ConnectionPool(ConnectionFactory factory, int maxConnections, long connectionTimeout,
+                          long idleTimeout, long validationInterval, int statementCacheSize) {
+        this.factory = factory;
+        this.maxConnections = maxConnections;
+        this.connectionTimeout = connectionTimeout;
+        this.idleTimeout = idleTimeout;
+        this.statementCacheSize = statementCacheSize;
+        this.permits = new Semaphore(maxConnections, true);
+
+        this.maintenance = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "db-pool-maintenance");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.maintenance.scheduleWithFixedDelay(this::maintainIdleConnections,
+            validationInterval, validationInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Borrow a connection, waiting up to the connection timeout when the pool is exhausted
+     * @return Connection that returns itself to the pool when closed
+     * @throws SQLException if no connection becomes available or a new one cannot be opened
+     */
+    public Connection borrow() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool has been shut down");
+        }
+        CancellationToken token = CancellationToken.current();
+        if (token != null && token.isCancelled()) {
+            throw new SQLException("Query cancelled before a connection was borrowed");
+        }
+
+        try {
+            if (!permits.tryAcquire(connectionTimeout, TimeUnit.MILLISECONDS)) {
+                throw new SQLTimeoutException("Timed out after " + connectionTimeout +
+                    " ms waiting for a database connection (all " + maxConnections + " connections in use)");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        }
+
+        try {
+            // Most recently returned connection first, it is the least likely to have gone stale
+            PooledConnection pooled;
+            while ((pooled = idleConnections.pollFirst()) != null) {
+                if (pooled.isUsable()) {
+                    return pooled.lease();
+                }
+                pooled.closePhysical();
+            }
+            return new PooledConnection(factory.create()).lease();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Return a connection to the pool, or discard it if it can no longer be used
+     */
+    private void release(PooledConnection pooled) {
+        try {
+            pooled.statementCache.releaseAll();
+            if (closed || pooled.broken || !pooled.reset()) {
+                pooled.closePhysical();
+            } else {
+                pooled.lastUsed = System.currentTimeMillis();
+                idleConnections.offerFirst(pooled);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Close connections idle for longer than the idle timeout and validate the rest.
+     * Each connection is checked out while it is validated so it is never handed to a caller mid-check.
+     */
+    private void maintainIdleConnections() {
+        List<PooledConnection> snapshot = new ArrayList<>(idleConnections);
+        long now = System.currentTimeMillis();
+
+        for (PooledConnection pooled : snapshot) {
+            if (closed || !permits.tryAcquire()) {
+                return;
+            }
+            try {
+                if (!idleConnections.remove(pooled)) {
+                    continue; // Borrowed in the meantime
+                }
+                if (now - pooled.lastUsed > idleTimeout || !pooled.validate()) {
+                    pooled.closePhysical();
+                } else {
+                    idleConnections.offerLast(pooled);
+                }
+            } finally {
+                permits.release();
+            }
+        }
+    }
+
+    /**
+     * Close all idle connections and stop accepting new borrows.
+     * Connections still in use are closed when they are returned.
+     */
+    public void shutdown() {
+        closed = true;
+        maintenance.shutdownNow();
+        PooledConnection pooled;
+        while ((pooled = idleConnections.pollFirst()) != null) {
+            pooled.closePhysical();
+        }
+    }
+
+    /**
+     * @return Number of connections currently borrowed
+     */
+    public int getActiveCount() {
+        return maxConnections - permits.availablePermits();
+    }
+
+    /**
+     * @return Number of open connections waiting in the pool
+     */
+    public int getIdleCount() {
+        return idleConnections.size();
+    }
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public boolean isShutdown() {
+        return closed;
+    }
+
+    /**
+     * Physical connection owned by the pool
+     */
+    private class PooledConnection {
+        private final Connection physical;
+        private final StatementCache statementCache = new StatementCache(statementCacheSize);
+        private volatile long lastUsed = System.currentTimeMillis();
+        private volatile boolean broken = false;
+
+        PooledConnection(Connection physical) {
+            this.physical = physical;
+        }
+
+        Connection lease() {
+            return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[] { Connection.class },
+                new Lease(this));
+        }
+
+        boolean isUsable() {
+            try {
+                return !physical.isClosed();
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        boolean validate() {
+            try {
+                return physical.isValid(VALIDATION_TIMEOUT_SECONDS);
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        /**
+         * Undo per-lease state so the next borrower gets a clean connection
+         * @return true if the connection can be reused
+         */
+        boolean reset() {
+            try {
+                if (physical.isClosed()) {
+                    return false;
+                }
+                if (!physical.getAutoCommit()) {
+                    physical.rollback();
+                    physical.setAutoCommit(true);
+                }
+                if (physical.isReadOnly()) {
+                    physical.setReadOnly(false);
+                }
+                physical.clearWarnings();
+                return true;
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        void closePhysical() {
+            try {
+                statementCache.closeAll();
+                physical.close();
+            } catch (SQLException e) {
+                System.err.println("Error closing pooled connection: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Handle given to a single borrower. Closing it returns the connection to the pool;
+     * using it afterwards fails instead of touching a connection someone else now owns.
+     */
+    private class Lease implements InvocationHandler {
+        private final PooledConnection pooled;
+        private volatile boolean returned = false;
+
+        Lease(PooledConnection pooled) {
+            this.pooled = pooled;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!returned) {
+                        returned = true;
+                        release(pooled);
+                    }
+                    return null;
+                case "isClosed":
+                    return returned || pooled.physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + pooled.physical + "]";
+                default:
+                    break;
+            }
+
+            if (returned) {
+                throw new SQLException("Connection has already been returned to the pool");
+            }
+
+            if (isCacheablePrepare(method)) {
+                int autoGeneratedKeys = args.length > 1 ? (Integer) args[1] : Statement.NO_GENERATED_KEYS;
+                try {
+                    Statement statement = pooled.statementCache.prepare(pooled.physical, (Connection) proxy,
+                                                                        (String) args[0], autoGeneratedKeys);
+                    CancellationToken.registerWithCurrent(statement);
+                    return statement;
+                } catch (SQLException e) {
+                    if (isConnectionError(e)) {
+                        pooled.broken = true;
+                    }
+                    throw e;
+                }
+            }
+
+            try {
+                Object result = method.invoke(pooled.physical, args);
+                if (result instanceof Statement) {
+                    // createStatement, prepareCall and uncached prepareStatement variants
+                    CancellationToken.registerWithCurrent((Statement) result);
+                }
+                return result;
+            } catch (InvocationTargetException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof SQLException && isConnectionError((SQLException) cause)) {
+                    pooled.broken = true;
+                }
+                throw cause;
+            }
+        }
+    }
+
+    /**
+     * prepareStatement(String) and prepareStatement(String, int autoGeneratedKeys) go through the statement cache
+     */
+    private static boolean isCacheablePrepare(Method method) {
+        if (!"prepareStatement".equals(method.getName())) {
+            return false;
+        }
+        Class<?>[] params = method.getParameterTypes();
+        return params.length == 1 || (params.length == 2 && params[1] == int.class);
+    }
+
+    /**
+     * SQL state class 08 means the connection itself failed
+     */
+    private static boolean isConnectionError(SQLException e) {
+        String state = e.getSQLState();
+        return state != null && state.startsWith("08");
+    }
+}
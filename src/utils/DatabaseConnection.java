@@ -8,21 +8,51 @@ import java.sql.Statement;
 import java.util.Properties;
 
 /**
- * Database connection utility class with improved error handling
+ * Database connection utility class with improved error handling.
+ * Connections are served from a bounded pool; closing a connection returns it to the pool.
  */
 public class DatabaseConnection {
-    private static Connection connection = null;
+    private static ConnectionPool pool = null;
     
     /**
-     * Get database connection with enhanced configuration
+     * Get a pooled database connection
+     * @return Connection object, close it to return it to the pool
+     * @throws SQLException if connection fails or the pool stays exhausted past the timeout
+     */
+    public static Connection getConnection() throws SQLException {
+        return getPool().borrow();
+    }
+    
+    /**
+     * Get the shared connection pool, creating it on first use
+     * @return Connection pool
+     * @throws SQLException if the JDBC driver cannot be loaded
+     */
+    public static synchronized ConnectionPool getPool() throws SQLException {
+        if (pool == null || pool.isShutdown()) {
+            try {
+                // Load MySQL JDBC driver once for the lifetime of the pool
+                Class.forName(DatabaseConfig.DB_DRIVER);
+            } catch (ClassNotFoundException e) {
+                throw new SQLException("MySQL JDBC Driver not found. Please ensure mysql-connector-java.jar is in the classpath: " + e.getMessage());
+            }
+            pool = new ConnectionPool(DatabaseConnection::createPhysicalConnection,
+                                      DatabaseConfig.MAX_CONNECTIONS,
+                                      DatabaseConfig.CONNECTION_TIMEOUT,
+                                      DatabaseConfig.IDLE_TIMEOUT,
+                                      DatabaseConfig.VALIDATION_INTERVAL,
+                                      DatabaseConfig.STATEMENT_CACHE_SIZE);
+        }
+        return pool;
+    }
+    
+    /**
+     * Open a new physical database connection with enhanced configuration
      * @return Connection object
      * @throws SQLException if connection fails
      */
-    public static Connection getConnection() throws SQLException {
+    private static Connection createPhysicalConnection() throws SQLException {
         try {
-            // Load MySQL JDBC driver
-            Class.forName(DatabaseConfig.DB_DRIVER);
-            
             // Set connection properties for better compatibility
             Properties props = new Properties();
             props.setProperty("user", DatabaseConfig.DB_USERNAME);
@@ -35,23 +65,18 @@ public class DatabaseConnection {
             props.setProperty("characterEncoding", "UTF-8");
             props.setProperty("connectTimeout", "60000");
             props.setProperty("socketTimeout", "60000");
+            // Prepare statements on the server so cached statements are parsed and planned once
+            props.setProperty("useServerPrepStmts", "true");
+            // Send JDBC batches as multi-row statements
+            props.setProperty("rewriteBatchedStatements", "true");
+            // Honour Statement.setFetchSize with a server-side cursor for streamed reads
+            props.setProperty("useCursorFetch", "true");
             
             // Create connection with properties
             Connection conn = DriverManager.getConnection(DatabaseConfig.DB_URL, props);
-            
-            // Set connection properties
-            if (conn != null) {
-                conn.setAutoCommit(true);
-                // Test the connection
-                try (Statement stmt = conn.createStatement()) {
-                    stmt.executeQuery("SELECT 1").close();
-                }
-            }
-            
+            conn.setAutoCommit(true);
             return conn;
             
-        } catch (ClassNotFoundException e) {
-            throw new SQLException("MySQL JDBC Driver not found. Please ensure mysql-connector-java.jar is in the classpath: " + e.getMessage());
         } catch (SQLException e) {
             String errorMsg = "Failed to connect to database: " + e.getMessage();
             
@@ -112,21 +137,17 @@ public class DatabaseConnection {
     }
     
     /**
-     * Close database connection safely
+     * Shut down the connection pool and close all idle connections
      */
-    public static void closeConnection() {
-        try {
-            if (connection != null && !connection.isClosed()) {
-                connection.close();
-                System.out.println("Database connection closed successfully.");
-            }
-        } catch (SQLException e) {
-            System.err.println("Error closing database connection: " + e.getMessage());
+    public static synchronized void closeConnection() {
+        if (pool != null && !pool.isShutdown()) {
+            pool.shutdown();
+            System.out.println("Database connection pool closed successfully.");
         }
     }
     
     /**
-     * Close connection safely
+     * Close connection safely (returns pooled connections to the pool)
      * @param conn Connection to close
      */
     public static void closeConnection(Connection conn) {
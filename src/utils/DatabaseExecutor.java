@@ -0,0 +1,110 @@
+package utils;
+
+import config.DatabaseConfig;
+
+import javax.swing.*;
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs blocking database calls off the Swing event thread.
+ * Tasks run on virtual threads when the JVM supports them (Java 21+) and on a fixed pool of
+ * MAX_CONNECTIONS daemon threads otherwise. At most MAX_CONNECTIONS tasks touch the database at once,
+ * so callers can submit any number of reads without exhausting the connection pool or creating a thread
+ * per read; the rest wait for a free slot (in the pool's queue when there are no virtual threads).
+ */
+public final class DatabaseExecutor {
+    /**
+     * Executor that runs callbacks on the Swing event dispatch thread
+     */
+    public static final Executor EDT = SwingUtilities::invokeLater;
+
+    private static final ExecutorService executor = createExecutor();
+    private static final Semaphore permits = new Semaphore(DatabaseConfig.MAX_CONNECTIONS, true);
+
+    private DatabaseExecutor() {}
+
+    /**
+     * Run a database call asynchronously.
+     * If the caller is running under a {@link CancellationToken}, the task runs under the same token.
+     * @param task Blocking call to run
+     * @return Future completed with the result of the task, or exceptionally if it throws
+     */
+    public static <T> CompletableFuture<T> supply(Supplier<T> task) {
+        CancellationToken token = CancellationToken.current();
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CompletionException(e);
+            }
+            try {
+                return token != null ? CancellationToken.runWith(token, task) : task.get();
+            } finally {
+                permits.release();
+            }
+        }, executor);
+    }
+
+    /**
+     * Strip the CompletionException wrapper CompletableFuture puts around task failures
+     * @param error Failure passed to a completion callback
+     * @return The exception thrown by the task
+     */
+    public static Throwable unwrap(Throwable error) {
+        if (error instanceof CompletionException && error.getCause() != null) {
+            return error.getCause();
+        }
+        return error;
+    }
+
+    /**
+     * @return true if database calls run on virtual threads
+     */
+    public static boolean usesVirtualThreads() {
+        return !(executor instanceof DaemonPool);
+    }
+
+    /**
+     * Virtual-thread-per-task executor when available, looked up reflectively so the code still
+     * compiles and runs on Java 8
+     */
+    private static ExecutorService createExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return new DaemonPool();
+        }
+    }
+
+    /**
+     * Fixed pool of daemon threads for JVMs without virtual threads. Tasks beyond MAX_CONNECTIONS wait
+     * in the queue rather than each holding a thread; idle threads exit after a minute.
+     */
+    private static final class DaemonPool extends ThreadPoolExecutor {
+        private static final AtomicInteger threadCount = new AtomicInteger();
+
+        DaemonPool() {
+            super(DatabaseConfig.MAX_CONNECTIONS, DatabaseConfig.MAX_CONNECTIONS, 60L, TimeUnit.SECONDS,
+                  new LinkedBlockingQueue<Runnable>(),
+                  r -> {
+                      Thread thread = new Thread(r, "db-worker-" + threadCount.incrementAndGet());
+                      thread.setDaemon(true);
+                      return thread;
+                  });
+            allowCoreThreadTimeOut(true);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package utils;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Keeps at most one background load running per key.
+ * Starting a load cancels the previous load for the same key, including its in-flight JDBC query,
+ * and only the most recent load's result is delivered. Callbacks run on the Swing event thread.
+ * Meant to be created and used from the event thread, one instance per panel.
+ */
+public class LoadCoordinator {
+    private final Map<String, CancellationToken> activeLoads = new HashMap<>();
+
+    /**
+     * Start a load, superseding any load already running under the same key
+     * @param key Identifies what is being loaded, e.g. "payrollTable"
+     * @param request Starts the load, typically a call on one of the async DAOs; database work it submits
+     *                to {@link DatabaseExecutor} is tied to this load and cancelled with it
+     * @param onSuccess Receives the result if this load is still the latest one
+     * @param onError Receives the failure if this load is still the latest one
+     */
+    public <T> void load(String key, Supplier<CompletableFuture<T>> request,
+                         Consumer<T> onSuccess, Consumer<Throwable> onError) {
+        cancel(key);
+
+        CancellationToken token = new CancellationToken();
+        activeLoads.put(key, token);
+
+        CompletableFuture<T> future;
+        try {
+            future = CancellationToken.runWith(token, request);
+        } catch (RuntimeException e) {
+            activeLoads.remove(key);
+            onError.accept(e);
+            return;
+        }
+
+        future.whenCompleteAsync((result, error) -> {
+            if (activeLoads.get(key) != token) {
+                return; // Superseded or cancelled, the result is stale
+            }
+            activeLoads.remove(key);
+            if (error != null) {
+                onError.accept(DatabaseExecutor.unwrap(error));
+            } else {
+                onSuccess.accept(result);
+            }
+        }, DatabaseExecutor.EDT);
+    }
+    /**
+     * Cancel the load running under a key, if any
+     * @param key Load key
+     */
+    public void cancel(String key) {
+        CancellationToken token = activeLoads.remove(key);
+        if (token != null) {
+            token.cancel();
+        }
+    }
+
+    /**
+     * Cancel every running load, e.g. when the panel is closed
+     */
+    public void cancelAll() {
+        for (CancellationToken token : activeLoads.values()) {
+            token.cancel();
+        }
+        activeLoads.clear();
+    }
+
+    /**
+     * @param key Load key
+     * @return true if a load is running under the key
+     */
+    public boolean isLoading(String key) {
+        return activeLoads.containsKey(key);
+    }
+}
@@ -0,0 +1,105 @@
+package utils;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Thread-safe, size-bounded cache that evicts the least recently used entry when full
+ * @param <K> Key type
+ * @param <V> Value type
+ */
+public class LruCache<K, V> {
+    private final int capacity;
+    private final LinkedHashMap<K, V> entries;
+    private final CacheStatistics statistics = new CacheStatistics();
+    private final BiConsumer<K, V> evictionListener;
+
+    /**
+     * Create a cache
+     * @param capacity Maximum number of entries
+     */
+    public LruCache(int capacity) {
+        this(capacity, null);
+    }
+
+    /**
+     * Create a cache
+     * @param capacity Maximum number of entries
+     * @param evictionListener Called with each entry dropped to make room, may be null
+     */
+    public LruCache(int capacity, BiConsumer<K, V> evictionListener) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Cache capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+        this.evictionListener = evictionListener;
+    }
+
+    /**
+     * @param key Key
+     * @return Cached value, or null if absent
+     */
+    public synchronized V get(K key) {
+        V value = entries.get(key);
+        if (value != null) {
+            statistics.recordHit();
+        } else {
+            statistics.recordMiss();
+        }
+        return value;
+    }
+
+    /**
+     * Look up an entry without counting a hit or miss, for callers that decide validity themselves
+     * @param key Key
+     * @return Cached value, or null if absent
+     */
+    public synchronized V peek(K key) {
+        return entries.get(key);
+    }
+
+    /**
+     * Add or replace an entry, evicting the least recently used entries if the cache is full
+     * @param key Key
+     * @param value Value, must not be null
+     */
+    public synchronized void put(K key, V value) {
+        entries.put(key, value);
+        Iterator<Map.Entry<K, V>> it = entries.entrySet().iterator();
+        while (entries.size() > capacity && it.hasNext()) {
+            Map.Entry<K, V> eldest = it.next();
+            it.remove();
+            statistics.recordEviction();
+            if (evictionListener != null) {
+                evictionListener.accept(eldest.getKey(), eldest.getValue());
+            }
+        }
+    }
+
+    /**
+     * @param key Key
+     * @return Removed value, or null if absent
+     */
+    public synchronized V remove(K key) {
+        return entries.remove(key);
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public CacheStatistics getStatistics() {
+        return statistics;
+    }
+}
@@ -0,0 +1,146 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory substring index over the text fields of records identified by an int ID.
+ * Every 1-, 2- and 3-character substring of each field maps to the IDs containing it, so a query of
+ * up to three characters is a single lookup and a longer query intersects the postings of its
+ * trigrams and then confirms the few remaining candidates. Matching is case-insensitive.
+ * Not thread-safe; use it from one thread, e.g. the Swing event thread.
+ */
+public class NGramIndex {
+    private static final int GRAM_LENGTH = 3;
+
+    private final Map<String, Set<Integer>> postings = new HashMap<>();
+    private final Map<Integer, String[]> documents = new HashMap<>();
+
+    /**
+     * Add a record, replacing any previous entry with the same ID
+     * @param id Record ID
+     * @param fields Searchable text fields; null fields are ignored
+     */
+    public void put(int id, String... fields) {
+        remove(id);
+        String[] normalized = new String[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            normalized[i] = normalize(fields[i]);
+            for (String gram : grams(normalized[i])) {
+                postings.computeIfAbsent(gram, g -> new HashSet<>()).add(id);
+            }
+        }
+        documents.put(id, normalized);
+    }
+
+    /**
+     * Remove a record
+     * @param id Record ID
+     */
+    public void remove(int id) {
+        String[] fields = documents.remove(id);
+        if (fields == null) {
+            return;
+        }
+        for (String field : fields) {
+            for (String gram : grams(field)) {
+                Set<Integer> ids = postings.get(gram);
+                if (ids != null && ids.remove(id) && ids.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    public void clear() {
+        postings.clear();
+        documents.clear();
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    public boolean contains(int id) {
+        return documents.containsKey(id);
+    }
+
+    /**
+     * Find the records with a field containing the query
+     * @param query Text to look for
+     * @return IDs of matching records; all IDs if the query is blank
+     */
+    public Set<Integer> search(String query) {
+        String needle = normalize(query);
+        if (needle.isEmpty()) {
+            return new HashSet<>(documents.keySet());
+        }
+        if (needle.length() <= GRAM_LENGTH) {
+            Set<Integer> ids = postings.get(needle);
+            return ids != null ? new HashSet<>(ids) : new HashSet<Integer>();
+        }
+
+        // Intersect from the rarest trigram so the working set shrinks as fast as possible
+        List<Set<Integer>> lists = new ArrayList<>();
+        for (String gram : trigrams(needle)) {
+            Set<Integer> ids = postings.get(gram);
+            if (ids == null) {
+                return new HashSet<>();
+            }
+            lists.add(ids);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+
+        Set<Integer> candidates = new HashSet<>(lists.get(0));
+        for (int i = 1; i < lists.size() && !candidates.isEmpty(); i++) {
+            candidates.retainAll(lists.get(i));
+        }
+
+        // Trigrams can all be present without being adjacent, confirm the whole query
+        Set<Integer> matches = new HashSet<>();
+        for (Integer id : candidates) {
+            for (String field : documents.get(id)) {
+                if (field.contains(needle)) {
+                    matches.add(id);
+                    break;
+                }
+            }
+        }
+        return matches;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * All distinct substrings of length 1 to GRAM_LENGTH
+     */
+    private static Set<String> grams(String text) {
+        if (text.isEmpty()) {
+            return Collections.emptySet();
+        }
+        Set<String> grams = new HashSet<>();
+        for (int start = 0; start < text.length(); start++) {
+            for (int end = start + 1; end <= Math.min(start + GRAM_LENGTH, text.length()); end++) {
+                grams.add(text.substring(start, end));
+            }
+        }
+        return grams;
+    }
+
+    private static Set<String> trigrams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int start = 0; start + GRAM_LENGTH <= text.length(); start++) {
+            grams.add(text.substring(start, start + GRAM_LENGTH));
+        }
+        return grams;
+    }
+}
@@ -0,0 +1,349 @@
+package utils;
+
+import models.Money;
+import models.Payroll;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * In-memory copy of the payroll table for reports, held column by column in primitive arrays:
+ * amounts as long cents, ids as ints, pay periods as epoch days and the payment status as a byte.
+ * Aggregations run as plain loops over the arrays, with no per-row objects, so grouping millions of
+ * payroll records by department or month takes milliseconds.
+ * Rows are appended in payroll ID order, so a store can be brought up to date by appending only the
+ * records created since it was loaded (see PayrollDAO.loadPayrollColumns).
+ * Thread-safe: loading and aggregating may happen on different threads.
+ */
+public class PayrollColumnStore {
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private int size;
+    private int[] employeeIds = new int[INITIAL_CAPACITY];
+    private int[] departmentIds = new int[INITIAL_CAPACITY];
+    private int[] periodStarts = new int[INITIAL_CAPACITY];
+    private int[] periodEnds = new int[INITIAL_CAPACITY];
+    private int[] periodEndMonths = new int[INITIAL_CAPACITY];
+    private long[] grossCents = new long[INITIAL_CAPACITY];
+    private long[] deductionCents = new long[INITIAL_CAPACITY];
+    private long[] netCents = new long[INITIAL_CAPACITY];
+    private byte[] statuses = new byte[INITIAL_CAPACITY];
+
+    private int lastPayrollId;
+    private long lastModified;
+    private long checkedAt;
+    private int maxDepartmentId;
+    private int minMonth = Integer.MAX_VALUE;
+    private int maxMonth = Integer.MIN_VALUE;
+
+    /**
+     * Append one payroll record
+     * @param payrollId Payroll ID, greater than that of every record already in the store
+     * @param employeeId Employee ID
+     * @param departmentId Department of the employee, 0 for none
+     * @param periodStart Pay period start date
+     * @param periodEnd Pay period end date
+     * @param gross Gross salary in cents
+     * @param deductions Total deductions in cents
+     * @param net Net salary in cents
+     * @param status Payment status
+     * @param modifiedAt Time the record was last modified, in milliseconds
+     * @throws IllegalArgumentException if the payroll ID is not greater than the last one appended
+     */
+    public synchronized void append(int payrollId, int employeeId, int departmentId,
+                                    LocalDate periodStart, LocalDate periodEnd,
+                                    long gross, long deductions, long net,
+                                    Payroll.PaymentStatus status, long modifiedAt) {
+        if (payrollId <= lastPayrollId) {
+            throw new IllegalArgumentException("Payroll " + payrollId + " appended after payroll " + lastPayrollId);
+        }
+        if (departmentId < 0) {
+            throw new IllegalArgumentException("Invalid department ID: " + departmentId);
+        }
+        if (size == employeeIds.length) {
+            grow();
+        }
+
+        int month = monthIndex(periodEnd.getYear(), periodEnd.getMonthValue());
+        employeeIds[size] = employeeId;
+        departmentIds[size] = departmentId;
+        periodStarts[size] = (int) periodStart.toEpochDay();
+        periodEnds[size] = (int) periodEnd.toEpochDay();
+        periodEndMonths[size] = month;
+        grossCents[size] = gross;
+        deductionCents[size] = deductions;
+        netCents[size] = net;
+        statuses[size] = (byte) status.ordinal();
+        size++;
+
+        lastPayrollId = payrollId;
+        lastModified = Math.max(lastModified, modifiedAt);
+        maxDepartmentId = Math.max(maxDepartmentId, departmentId);
+        minMonth = Math.min(minMonth, month);
+        maxMonth = Math.max(maxMonth, month);
+    }
+
+    /**
+     * Remove all records, e.g. before reloading after records were changed or deleted
+     */
+    public synchronized void clear() {
+        size = 0;
+        lastPayrollId = 0;
+        lastModified = 0;
+        checkedAt = 0;
+        maxDepartmentId = 0;
+        minMonth = Integer.MAX_VALUE;
+        maxMonth = Integer.MIN_VALUE;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * @return ID of the newest record, 0 if the store is empty
+     */
+    public synchronized int getLastPayrollId() {
+        return lastPayrollId;
+    }
+
+    /**
+     * @return Latest modification time of any record, in milliseconds, 0 if the store is empty
+     */
+    public synchronized long getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * @return Database time at which the store was last found current, in milliseconds, 0 if never
+     */
+    public synchronized long getCheckedAt() {
+        return checkedAt;
+    }
+
+    /**
+     * Record the database time at which the store was found current, taken before its new records were read
+     * @param checkedAt Time in milliseconds
+     */
+    public synchronized void setCheckedAt(long checkedAt) {
+        this.checkedAt = checkedAt;
+    }
+
+    /**
+     * @param filter Records to include
+     * @return Totals over the matching records
+     */
+    public synchronized Totals totals(Filter filter) {
+        Totals totals = new Totals();
+        for (int row = 0; row < size; row++) {
+            if (matches(filter, row)) {
+                totals.count++;
+                totals.gross += grossCents[row];
+                totals.deductions += deductionCents[row];
+                totals.net += netCents[row];
+            }
+        }
+        return totals;
+    }
+
+    /**
+     * @param filter Records to include
+     * @return Totals per department ID, in ascending ID order, for departments with matching records
+     */
+    public synchronized Map<Integer, Totals> totalsByDepartment(Filter filter) {
+        Totals[] groups = aggregate(departmentIds, 0, maxDepartmentId + 1, filter);
+        Map<Integer, Totals> result = new LinkedHashMap<>();
+        for (int departmentId = 0; departmentId < groups.length; departmentId++) {
+            if (groups[departmentId] != null) {
+                result.put(departmentId, groups[departmentId]);
+            }
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * @param filter Records to include
+     * @return Totals per month of the pay period end, in ascending order, for months with matching records
+     */
+    public synchronized Map<YearMonth, Totals> totalsByMonth(Filter filter) {
+        if (size == 0) {
+            return Collections.emptyMap();
+        }
+        Totals[] groups = aggregate(periodEndMonths, minMonth, maxMonth - minMonth + 1, filter);
+        Map<YearMonth, Totals> result = new LinkedHashMap<>();
+        for (int i = 0; i < groups.length; i++) {
+            if (groups[i] != null) {
+                int month = minMonth + i;
+                result.put(YearMonth.of(month / 12, month % 12 + 1), groups[i]);
+            }
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * Sum the matching records into one group per key, keys ranging from firstKey to firstKey + keyCount - 1
+     * @return Totals per key offset, null for keys without matching records
+     */
+    private Totals[] aggregate(int[] keys, int firstKey, int keyCount, Filter filter) {
+        int[] counts = new int[keyCount];
+        long[] gross = new long[keyCount];
+        long[] deductions = new long[keyCount];
+        long[] net = new long[keyCount];
+
+        for (int row = 0; row < size; row++) {
+            if (matches(filter, row)) {
+                int group = keys[row] - firstKey;
+                counts[group]++;
+                gross[group] += grossCents[row];
+                deductions[group] += deductionCents[row];
+                net[group] += netCents[row];
+            }
+        }
+
+        Totals[] groups = new Totals[keyCount];
+        for (int group = 0; group < keyCount; group++) {
+            if (counts[group] > 0) {
+                Totals totals = new Totals();
+                totals.count = counts[group];
+                totals.gross = gross[group];
+                totals.deductions = deductions[group];
+                totals.net = net[group];
+                groups[group] = totals;
+            }
+        }
+        return groups;
+    }
+
+    private boolean matches(Filter filter, int row) {
+        return periodStarts[row] <= filter.toDay && periodEnds[row] >= filter.fromDay
+            && (filter.departmentId < 0 || departmentIds[row] == filter.departmentId)
+            && (filter.employeeId < 0 || employeeIds[row] == filter.employeeId)
+            && (filter.status < 0 || statuses[row] == filter.status);
+    }
+
+    private void grow() {
+        int capacity = employeeIds.length * 2;
+        employeeIds = Arrays.copyOf(employeeIds, capacity);
+        departmentIds = Arrays.copyOf(departmentIds, capacity);
+        periodStarts = Arrays.copyOf(periodStarts, capacity);
+        periodEnds = Arrays.copyOf(periodEnds, capacity);
+        periodEndMonths = Arrays.copyOf(periodEndMonths, capacity);
+        grossCents = Arrays.copyOf(grossCents, capacity);
+        deductionCents = Arrays.copyOf(deductionCents, capacity);
+        netCents = Arrays.copyOf(netCents, capacity);
+        statuses = Arrays.copyOf(statuses, capacity);
+    }
+
+    private static int monthIndex(int year, int month) {
+        return year * 12 + month - 1;
+    }
+
+    /**
+     * Which records an aggregation includes. Immutable; the with methods return narrowed copies.
+     */
+    public static final class Filter {
+        private static final Filter ALL = new Filter(Integer.MIN_VALUE, Integer.MAX_VALUE, -1, -1, -1);
+
+        private final int fromDay;
+        private final int toDay;
+        private final int departmentId;
+        private final int employeeId;
+        private final int status;
+
+        private Filter(int fromDay, int toDay, int departmentId, int employeeId, int status) {
+            this.fromDay = fromDay;
+            this.toDay = toDay;
+            this.departmentId = departmentId;
+            this.employeeId = employeeId;
+            this.status = status;
+        }
+
+        /**
+         * @return Filter including every record
+         */
+        public static Filter all() {
+            return ALL;
+        }
+
+        /**
+         * Include only records whose pay period overlaps a date range
+         * @param from First day of the range, or null for no lower bound
+         * @param to Last day of the range, or null for no upper bound
+         */
+        public Filter withPeriod(LocalDate from, LocalDate to) {
+            return new Filter(from != null ? (int) from.toEpochDay() : Integer.MIN_VALUE,
+                              to != null ? (int) to.toEpochDay() : Integer.MAX_VALUE,
+                              departmentId, employeeId, status);
+        }
+
+        /**
+         * @param departmentId Department to include, 0 for employees without one, or null for any
+         */
+        public Filter withDepartment(Integer departmentId) {
+            return new Filter(fromDay, toDay, departmentId != null ? departmentId : -1, employeeId, status);
+        }
+
+        /**
+         * @param employeeId Employee to include, or null for any
+         */
+        public Filter withEmployee(Integer employeeId) {
+            return new Filter(fromDay, toDay, departmentId, employeeId != null ? employeeId : -1, status);
+        }
+
+        /**
+         * @param status Payment status to include, or null for any
+         */
+        public Filter withStatus(Payroll.PaymentStatus status) {
+            return new Filter(fromDay, toDay, departmentId, employeeId, status != null ? status.ordinal() : -1);
+        }
+    }
+
+    /**
+     * Record count and amount totals of a group of payroll records
+     */
+    public static final class Totals {
+        private int count;
+        private long gross;
+        private long deductions;
+        private long net;
+
+        public int getCount() {
+            return count;
+        }
+
+        public BigDecimal getGrossTotal() {
+            return Money.toBigDecimal(gross);
+        }
+
+        public BigDecimal getDeductionsTotal() {
+            return Money.toBigDecimal(deductions);
+        }
+
+        public BigDecimal getNetTotal() {
+            return Money.toBigDecimal(net);
+        }
+
+        /**
+         * @return Average net salary, rounded to the cent, or zero for an empty group
+         */
+        public BigDecimal getNetAverage() {
+            return count == 0 ? BigDecimal.ZERO.setScale(2)
+                              : Money.toBigDecimal(Money.divide(net, count, Money.ROUNDING));
+        }
+
+        @Override
+        public String toString() {
+            return "Totals{" +
+                    "count=" + count +
+                    ", gross=" + getGrossTotal() +
+                    ", deductions=" + getDeductionsTotal() +
+                    ", net=" + getNetTotal() +
+                    '}';
+        }
+    }
+}
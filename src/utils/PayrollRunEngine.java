@@ -0,0 +1,296 @@
+package utils;
+
+import config.DatabaseConfig;
+import dao.EmployeeDAO;
+import dao.PayrollDAO;
+import models.Employee;
+import models.Money;
+import models.Payroll;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Creates the payroll of every active employee for one pay period.
+ * Employees who already have a payroll overlapping the period are skipped, found with a single query.
+ * Payroll records are calculated in parallel on a fork/join pool and saved in batched transactions of
+ * PAYROLL_RUN_CHUNK_SIZE records, so a failed chunk does not undo the chunks saved before it.
+ * Tax and insurance are withheld at PAYROLL_TAX_RATE and PAYROLL_INSURANCE_RATE of gross salary.
+ * {@link #runOnServer} does the same run as a single statement on the database server.
+ */
+public class PayrollRunEngine {
+    private static final long TAX_BASIS_POINTS = Money.toBasisPoints(DatabaseConfig.PAYROLL_TAX_RATE);
+    private static final long INSURANCE_BASIS_POINTS = Money.toBasisPoints(DatabaseConfig.PAYROLL_INSURANCE_RATE);
+
+    // Employees calculated per fork/join leaf task
+    private static final int CALCULATION_THRESHOLD = 256;
+
+    private final EmployeeDAO employeeDAO;
+    private final PayrollDAO payrollDAO;
+    private final ForkJoinPool pool;
+
+    /**
+     * Listener for the progress of a run, called from the thread running it
+     */
+    public interface ProgressListener {
+        /**
+         * @param saved Number of payroll records processed by the save phase so far
+         * @param total Number of payroll records to save
+         */
+        void onProgress(int saved, int total);
+    }
+
+    public PayrollRunEngine(EmployeeDAO employeeDAO, PayrollDAO payrollDAO) {
+        this(employeeDAO, payrollDAO, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param pool Pool the calculations run on
+     */
+    public PayrollRunEngine(EmployeeDAO employeeDAO, PayrollDAO payrollDAO, ForkJoinPool pool) {
+        this.employeeDAO = employeeDAO;
+        this.payrollDAO = payrollDAO;
+        this.pool = pool;
+    }
+
+    /**
+     * Run payroll for a period. Blocks until done; call it off the Swing event thread.
+     * @param periodStart Pay period start date
+     * @param periodEnd Pay period end date
+     * @param createdBy User ID recorded on the new payroll records
+     * @param listener Progress listener, may be null
+     * @return Summary of the run
+     */
+    public RunSummary run(Date periodStart, Date periodEnd, int createdBy, ProgressListener listener) {
+        long startTime = System.currentTimeMillis();
+        RunSummary summary = new RunSummary();
+
+        List<Employee> employees = employeeDAO.getActiveEmployees();
+        if (employees == null) {
+            summary.error = "Could not load the active employees";
+            summary.elapsedMillis = System.currentTimeMillis() - startTime;
+            return summary;
+        }
+        summary.activeEmployees = employees.size();
+
+        Set<Integer> alreadyPaid = payrollDAO.getEmployeeIdsWithPayrollInPeriod(periodStart, periodEnd);
+        if (alreadyPaid == null) {
+            summary.error = "Could not check existing payroll records for the period";
+            summary.elapsedMillis = System.currentTimeMillis() - startTime;
+            return summary;
+        }
+
+        List<Employee> toPay = new ArrayList<>(employees.size());
+        for (Employee employee : employees) {
+            if (alreadyPaid.contains(employee.getEmployeeId())) {
+                summary.skippedExisting++;
+            } else if (employee.getBaseSalary() == null) {
+                summary.failures.put(employee.getEmployeeCode(), "No base salary");
+            } else {
+                toPay.add(employee);
+            }
+        }
+
+        Payroll[] payrolls = new Payroll[toPay.size()];
+        pool.invoke(new CalculateTask(toPay, payrolls, 0, payrolls.length, periodStart, periodEnd, createdBy));
+
+        int chunkSize = Math.max(1, DatabaseConfig.PAYROLL_RUN_CHUNK_SIZE);
+        for (int start = 0; start < payrolls.length; start += chunkSize) {
+            int end = Math.min(start + chunkSize, payrolls.length);
+            List<Payroll> chunk = Arrays.asList(payrolls).subList(start, end);
+
+            PayrollDAO.BatchResult result = payrollDAO.createPayrolls(chunk);
+            if (result.isSuccessful()) {
+                summary.created += result.getInsertedCount();
+            } else if (!result.getFailures().isEmpty()) {
+                // The chunk was rolled back; name the rows at fault, the rest were only collateral
+                for (Map.Entry<Integer, String> failure : result.getFailures().entrySet()) {
+                    summary.failures.put(chunk.get(failure.getKey()).getEmployeeCode(), failure.getValue());
+                }
+                summary.notSaved += chunk.size();
+            } else {
+                summary.failures.put("Records " + (start + 1) + "-" + end, result.getBatchError());
+                summary.notSaved += chunk.size();
+            }
+
+            if (listener != null) {
+                listener.onProgress(end, payrolls.length);
+            }
+        }
+
+        summary.elapsedMillis = System.currentTimeMillis() - startTime;
+        return summary;
+    }
+
+    /**
+     * Run payroll for a period on the database server with one INSERT ... SELECT, without loading employees.
+     * Produces the same records as {@link #run}, but cannot report progress or name failing employees:
+     * the statement either creates every record or none.
+     * @param periodStart Pay period start date
+     * @param periodEnd Pay period end date
+     * @param createdBy User ID recorded on the new payroll records
+     * @return Summary of the run
+     */
+    public RunSummary runOnServer(Date periodStart, Date periodEnd, int createdBy) {
+        long startTime = System.currentTimeMillis();
+        RunSummary summary = new RunSummary();
+        summary.activeEmployees = employeeDAO.getEmployeeStatistics()[1];
+
+        int created = payrollDAO.createPayrollsForActiveEmployees(periodStart, periodEnd, createdBy,
+            BigDecimal.valueOf(DatabaseConfig.PAYROLL_TAX_RATE),
+            BigDecimal.valueOf(DatabaseConfig.PAYROLL_INSURANCE_RATE));
+        if (created < 0) {
+            summary.error = "The payroll run failed on the database server";
+        } else {
+            summary.created = created;
+            summary.skippedExisting = Math.max(0, summary.activeEmployees - created);
+        }
+
+        summary.elapsedMillis = System.currentTimeMillis() - startTime;
+        return summary;
+    }
+
+    /**
+     * Calculate the payroll of one employee for a period
+     * @param employee Employee to pay
+     * @param periodStart Pay period start date
+     * @param periodEnd Pay period end date
+     * @param createdBy User ID recorded on the payroll
+     * @return Pending payroll with salary and standard deductions calculated
+     */
+    public static Payroll calculatePayroll(Employee employee, Date periodStart, Date periodEnd, int createdBy) {
+        Payroll payroll = new Payroll(employee.getEmployeeId(), periodStart, periodEnd, employee.getBaseSalary());
+        payroll.setEmployeeCode(employee.getEmployeeCode());
+        payroll.setEmployeeName(employee.getFullName());
+        payroll.setCreatedBy(createdBy);
+
+        long grossCents = Money.toCents(payroll.getGrossSalary());
+        payroll.setTaxDeduction(Money.toBigDecimal(Money.applyRate(grossCents, TAX_BASIS_POINTS, Money.ROUNDING)));
+        payroll.setInsuranceDeduction(
+            Money.toBigDecimal(Money.applyRate(grossCents, INSURANCE_BASIS_POINTS, Money.ROUNDING)));
+        payroll.calculateSalary();
+        return payroll;
+    }
+
+    /**
+     * Calculates a range of employees, splitting it in half until it is small enough
+     */
+    private static class CalculateTask extends RecursiveAction {
+        private final List<Employee> employees;
+        private final Payroll[] payrolls;
+        private final int from;
+        private final int to;
+        private final Date periodStart;
+        private final Date periodEnd;
+        private final int createdBy;
+
+        CalculateTask(List<Employee> employees, Payroll[] payrolls, int from, int to,
+                      Date periodStart, Date periodEnd, int createdBy) {
+            this.employees = employees;
+            this.payrolls = payrolls;
+            this.from = from;
+            this.to = to;
+            this.periodStart = periodStart;
+            this.periodEnd = periodEnd;
+            this.createdBy = createdBy;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= CALCULATION_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    payrolls[i] = calculatePayroll(employees.get(i), periodStart, periodEnd, createdBy);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new CalculateTask(employees, payrolls, from, middle, periodStart, periodEnd, createdBy),
+                      new CalculateTask(employees, payrolls, middle, to, periodStart, periodEnd, createdBy));
+        }
+    }
+
+    /**
+     * Outcome of a payroll run
+     */
+    public static class RunSummary {
+        private int activeEmployees;
+        private int skippedExisting;
+        private int created;
+        private int notSaved;
+        private final Map<String, String> failures = new LinkedHashMap<>();
+        private String error;
+        private long elapsedMillis;
+
+        /**
+         * @return Number of active employees considered
+         */
+        public int getActiveEmployees() {
+            return activeEmployees;
+        }
+
+        /**
+         * @return Number of employees skipped because they already have payroll for the period
+         */
+        public int getSkippedExisting() {
+            return skippedExisting;
+        }
+
+        /**
+         * @return Number of payroll records created
+         */
+        public int getCreated() {
+            return created;
+        }
+
+        /**
+         * @return Number of calculated payroll records whose chunk was rolled back
+         */
+        public int getNotSaved() {
+            return notSaved;
+        }
+
+        /**
+         * @return Error message per employee code (or record range, for chunk-wide errors)
+         */
+        public Map<String, String> getFailures() {
+            return Collections.unmodifiableMap(failures);
+        }
+
+        /**
+         * @return Error that stopped the run before anything was saved, or null
+         */
+        public String getError() {
+            return error;
+        }
+
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+
+        public boolean isSuccessful() {
+            return error == null && failures.isEmpty();
+        }
+
+        @Override
+        public String toString() {
+            return "RunSummary{" +
+                    "activeEmployees=" + activeEmployees +
+                    ", skippedExisting=" + skippedExisting +
+                    ", created=" + created +
+                    ", notSaved=" + notSaved +
+                    ", failures=" + failures.size() +
+                    ", error=" + error +
+                    ", elapsedMillis=" + elapsedMillis +
+                    '}';
+        }
+    }
+}
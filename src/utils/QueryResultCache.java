@@ -0,0 +1,116 @@
+package utils;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Cache of query results keyed by query name and parameters.
+ * Each result is tagged with the {@link TableVersions} of the tables it was read from and is
+ * treated as a miss once any of them has been written to, or once it is older than the time to live.
+ * Cached results are shared between callers and must not be modified.
+ */
+public class QueryResultCache {
+    private final LruCache<Key, Entry> entries;
+    private final long timeToLive;
+
+    /**
+     * Create a result cache
+     * @param capacity Maximum number of cached results
+     * @param timeToLive Maximum age of a result in milliseconds, picks up changes made outside this application
+     */
+    public QueryResultCache(int capacity, long timeToLive) {
+        this.entries = new LruCache<>(capacity);
+        this.timeToLive = timeToLive;
+    }
+
+    /**
+     * Loads a query result on a cache miss
+     */
+    public interface Loader<T> {
+        T load();
+    }
+
+    /**
+     * Get a cached result, loading and caching it if it is missing or stale
+     * @param query Name identifying the query
+     * @param parameters Query parameters, compared with equals()
+     * @param tables Tables the query reads from
+     * @param loader Runs the query
+     * @return Query result
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String query, List<?> parameters, String[] tables, Loader<T> loader) {
+        Key key = new Key(query, parameters);
+        // Versions are taken before the query runs, so a write that lands mid-query marks the result stale
+        long[] versions = TableVersions.snapshot(tables);
+
+        CacheStatistics statistics = entries.getStatistics();
+        Entry entry = entries.peek(key);
+        if (entry != null) {
+            if (Arrays.equals(entry.versions, versions)
+                    && System.currentTimeMillis() - entry.loadedAt <= timeToLive) {
+                statistics.recordHit();
+                return (T) entry.value;
+            }
+            entries.remove(key);
+            statistics.recordEviction();
+        }
+        statistics.recordMiss();
+
+        T value = loader.load();
+        if (value != null) {
+            entries.put(key, new Entry(value, versions));
+        }
+        return value;
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return Hit, miss and eviction counts; a stale entry counts as an eviction and a miss
+     */
+    public CacheStatistics getStatistics() {
+        return entries.getStatistics();
+    }
+
+    private static final class Key {
+        private final String query;
+        private final List<?> parameters;
+
+        Key(String query, List<?> parameters) {
+            this.query = query;
+            this.parameters = parameters;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof Key)) return false;
+            Key that = (Key) obj;
+            return query.equals(that.query) && Objects.equals(parameters, that.parameters);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * query.hashCode() + Objects.hashCode(parameters);
+        }
+    }
+
+    private static final class Entry {
+        private final Object value;
+        private final long[] versions;
+        private final long loadedAt = System.currentTimeMillis();
+
+        Entry(Object value, long[] versions) {
+            this.value = value;
+            this.versions = versions;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package utils;
+
+import config.DatabaseConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Helpers for building search parameters for MySQL FULLTEXT and prefix LIKE queries
+ */
+public class SearchQueries {
+    
+    /**
+     * Turn free text into a BOOLEAN MODE query requiring, as a prefix, every word long enough for the index.
+     * Words are split the same way InnoDB tokenizes (anything other than letters and digits separates words).
+     * Words shorter than the server's minimum token length cannot be matched by the index and are left out,
+     * e.g. "jo smi" becomes "+smi*"; callers must require them separately, see {@link #toShortWords(String)}.
+     * @param searchTerm User input
+     * @return Boolean mode query, or null if no word is long enough to use the index
+     */
+    public static String toBooleanPrefixQuery(String searchTerm) {
+        if (searchTerm == null) {
+            return null;
+        }
+        StringBuilder query = new StringBuilder();
+        for (String word : words(searchTerm)) {
+            if (word.length() >= DatabaseConfig.FULLTEXT_MIN_TOKEN_LENGTH) {
+                if (query.length() > 0) {
+                    query.append(' ');
+                }
+                query.append('+').append(word).append('*');
+            }
+        }
+        return query.length() > 0 ? query.toString() : null;
+    }
+    
+    /**
+     * Get the words {@link #toBooleanPrefixQuery(String)} leaves out, e.g. "jo" for "jo smi",
+     * so they can be required with a prefix LIKE next to the MATCH
+     * @param searchTerm User input
+     * @return Words shorter than the server's minimum token length, in input order
+     */
+    public static List<String> toShortWords(String searchTerm) {
+        List<String> shortWords = new ArrayList<>();
+        if (searchTerm != null) {
+            for (String word : words(searchTerm)) {
+                if (!word.isEmpty() && word.length() < DatabaseConfig.FULLTEXT_MIN_TOKEN_LENGTH) {
+                    shortWords.add(word);
+                }
+            }
+        }
+        return shortWords;
+    }
+    
+    private static String[] words(String searchTerm) {
+        return searchTerm.split("[^\\p{L}\\p{N}]+");
+    }
+    
+    /**
+     * Build a LIKE pattern matching values that start with the search term
+     * @param searchTerm User input
+     * @return Pattern with LIKE wildcards in the input escaped
+     */
+    public static String toPrefixPattern(String searchTerm) {
+        return searchTerm.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+    }
+    
+    /**
+     * Build a LIKE pattern matching values that contain the search term anywhere
+     * @param searchTerm User input
+     * @return Pattern with LIKE wildcards in the input escaped
+     */
+    public static String toContainsPattern(String searchTerm) {
+        return "%" + toPrefixPattern(searchTerm);
+    }
+}
@@ -0,0 +1,261 @@
+package utils;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LRU cache of prepared statements for a single pooled connection, keyed by SQL text.
+ * Closing a statement handed out by the cache resets it and keeps it prepared for the next
+ * caller on the same connection instead of closing it on the server.
+ */
+public class StatementCache {
+    private static final AtomicLong totalHits = new AtomicLong();
+    private static final AtomicLong totalMisses = new AtomicLong();
+
+    private final int capacity;
+    private final LinkedHashMap<String, CachedStatement> statements;
+    private long hits = 0;
+    private long misses = 0;
+
+    public StatementCache(int capacity) {
+        this.capacity = capacity;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Get a prepared statement for the SQL, reusing a cached one when it is not already in use
+     * @param physical Physical connection owning this cache
+     * @param owner Connection handle the statement should report as its connection
+     * @param sql SQL text
+     * @param autoGeneratedKeys Statement.RETURN_GENERATED_KEYS or Statement.NO_GENERATED_KEYS
+     * @return Prepared statement; close it to hand it back to the cache
+     * @throws SQLException if the statement cannot be prepared
+     */
+    public synchronized PreparedStatement prepare(Connection physical, Connection owner, String sql,
+                                                  int autoGeneratedKeys) throws SQLException {
+        String key = autoGeneratedKeys == Statement.RETURN_GENERATED_KEYS ? "KEYS:" + sql : sql;
+        CachedStatement cached = statements.get(key);
+
+        if (cached != null && cached.handle == null) {
+            hits++;
+            totalHits.incrementAndGet();
+            return cached.checkOut(owner);
+        }
+
+        misses++;
+        totalMisses.incrementAndGet();
+        PreparedStatement statement = physical.prepareStatement(sql, autoGeneratedKeys);
+
+        if (cached != null) {
+            // Same SQL already open on this connection (nested use), hand out a plain statement
+            return statement;
+        }
+
+        cached = new CachedStatement(key, statement, statement.getFetchSize(), statement.getMaxRows(),
+                                     statement.getQueryTimeout());
+        statements.put(key, cached);
+        evictOverflow();
+        return cached.checkOut(owner);
+    }
+
+    /**
+     * Hand back every statement still checked out, called when the connection returns to the pool
+     */
+    public synchronized void releaseAll() {
+        for (CachedStatement cached : new ArrayList<>(statements.values())) {
+            if (cached.handle != null) {
+                cached.handle.close();
+            }
+        }
+    }
+
+    /**
+     * Close all cached statements, called when the physical connection is closed
+     */
+    public synchronized void closeAll() {
+        for (CachedStatement cached : statements.values()) {
+            cached.closePhysical();
+        }
+        statements.clear();
+    }
+
+    private void evictOverflow() {
+        Iterator<Map.Entry<String, CachedStatement>> it = statements.entrySet().iterator();
+        while (statements.size() > capacity && it.hasNext()) {
+            CachedStatement eldest = it.next().getValue();
+            it.remove();
+            if (eldest.handle == null) {
+                eldest.closePhysical();
+            } else {
+                eldest.evicted = true; // Closed when its current user is done with it
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return statements.size();
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * @return Cache hits across all pooled connections
+     */
+    public static long getTotalHits() {
+        return totalHits.get();
+    }
+
+    /**
+     * @return Cache misses across all pooled connections
+     */
+    public static long getTotalMisses() {
+        return totalMisses.get();
+    }
+
+    /**
+     * @return Fraction of prepares served from cache across all pooled connections
+     */
+    public static double getTotalHitRate() {
+        long hitCount = totalHits.get();
+        long total = hitCount + totalMisses.get();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+
+    /**
+     * Prepared statement kept open on the server
+     */
+    private class CachedStatement {
+        private final String key;
+        private final PreparedStatement physical;
+        // Settings the driver gave the statement, restored for each new user
+        private final int defaultFetchSize;
+        private final int defaultMaxRows;
+        private final int defaultQueryTimeout;
+        private Handle handle;
+        private boolean evicted = false;
+
+        CachedStatement(String key, PreparedStatement physical, int defaultFetchSize, int defaultMaxRows,
+                        int defaultQueryTimeout) {
+            this.key = key;
+            this.physical = physical;
+            this.defaultFetchSize = defaultFetchSize;
+            this.defaultMaxRows = defaultMaxRows;
+            this.defaultQueryTimeout = defaultQueryTimeout;
+        }
+
+        PreparedStatement checkOut(Connection owner) {
+            handle = new Handle(this, owner);
+            return (PreparedStatement) Proxy.newProxyInstance(
+                PreparedStatement.class.getClassLoader(),
+                new Class<?>[] { PreparedStatement.class },
+                handle);
+        }
+
+        /**
+         * Clear results, parameters and settings left behind by the previous user
+         * @return true if the statement can be reused
+         */
+        boolean reset() {
+            try {
+                ResultSet rs = physical.getResultSet();
+                if (rs != null) {
+                    rs.close();
+                }
+                physical.clearParameters();
+                physical.clearBatch();
+                physical.clearWarnings();
+                physical.setFetchSize(defaultFetchSize);
+                physical.setMaxRows(defaultMaxRows);
+                physical.setQueryTimeout(defaultQueryTimeout);
+                return !physical.isClosed();
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        void closePhysical() {
+            try {
+                physical.close();
+            } catch (SQLException e) {
+                System.err.println("Error closing cached statement: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Statement handle given to one caller; closing it returns the statement to the cache
+     */
+    private class Handle implements InvocationHandler {
+        private final CachedStatement cached;
+        private final Connection owner;
+        private boolean closed = false;
+
+        Handle(CachedStatement cached, Connection owner) {
+            this.cached = cached;
+            this.owner = owner;
+        }
+
+        void close() {
+            synchronized (StatementCache.this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                cached.handle = null;
+                if (cached.evicted || !cached.reset()) {
+                    statements.remove(cached.key, cached);
+                    cached.closePhysical();
+                }
+            }
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    close();
+                    return null;
+                case "isClosed":
+                    return closed || cached.physical.isClosed();
+                case "getConnection":
+                    return owner;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "CachedStatement[" + cached.physical + "]";
+                default:
+                    break;
+            }
+
+            if (closed) {
+                throw new SQLException("Statement has already been closed");
+            }
+
+            try {
+                return method.invoke(cached.physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
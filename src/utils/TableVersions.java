@@ -0,0 +1,51 @@
+package utils;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Modification counters for database tables.
+ * DAOs bump a table's version after writing to it, so anything derived from the table
+ * can tell whether it is still current by comparing versions.
+ */
+public final class TableVersions {
+    public static final String PAYROLL = "payroll";
+    public static final String EMPLOYEES = "employees";
+    public static final String DEPARTMENTS = "departments";
+
+    private static final ConcurrentHashMap<String, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    private TableVersions() {}
+
+    /**
+     * Record that a table has been modified
+     * @param table Table name
+     */
+    public static void bump(String table) {
+        counter(table).incrementAndGet();
+    }
+
+    /**
+     * @param table Table name
+     * @return Current version of the table
+     */
+    public static long get(String table) {
+        return counter(table).get();
+    }
+
+    /**
+     * @param tables Table names
+     * @return Current versions of the tables, in the same order
+     */
+    public static long[] snapshot(String... tables) {
+        long[] snapshot = new long[tables.length];
+        for (int i = 0; i < tables.length; i++) {
+            snapshot[i] = get(tables[i]);
+        }
+        return snapshot;
+    }
+
+    private static AtomicLong counter(String table) {
+        return versions.computeIfAbsent(table, t -> new AtomicLong());
+    }
+}
@@ -0,0 +1,402 @@
+package utils;
+
+import javax.swing.*;
+import javax.swing.table.TableModel;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Row sorter that sorts on primitive keys extracted once per sort instead of comparing cell values.
+ * Money columns (BigDecimal) are keyed by cents, integer columns by their value and date columns by epoch day,
+ * all as longs; other columns fall back to natural ordering, or locale-aware ordering of their text.
+ * Each sort column is reduced to an int rank per row, so the rows themselves are ordered by sorting a long[]
+ * of (rank, row) pairs, which runs in parallel for large models.
+ * Supports a row filter and up to three sort keys. As with DefaultRowSorter, updated rows keep their place
+ * unless sortsOnUpdates is set.
+ * @param <M> Table model type
+ */
+public class TypedRowSorter<M extends TableModel> extends RowSorter<M> {
+    private static final int MAX_SORT_KEYS = 3;
+
+    private final M model;
+    private List<SortKey> sortKeys = Collections.emptyList();
+    private RowFilter<? super M, ? super Integer> rowFilter;
+    private boolean sortsOnUpdates;
+    private int[] viewToModel = new int[0];
+    private int[] modelToView = new int[0];
+
+    /**
+     * Create a sorter, initially unsorted and unfiltered
+     * @param model Model to sort
+     */
+    public TypedRowSorter(M model) {
+        this.model = model;
+        sort();
+    }
+
+    @Override
+    public M getModel() {
+        return model;
+    }
+
+    /**
+     * Show only the rows the filter includes
+     * @param filter Filter to apply, or null to show all rows
+     */
+    public void setRowFilter(RowFilter<? super M, ? super Integer> filter) {
+        this.rowFilter = filter;
+        sort();
+    }
+
+    public RowFilter<? super M, ? super Integer> getRowFilter() {
+        return rowFilter;
+    }
+
+    /**
+     * @param sortsOnUpdates true to sort and filter again when rows are updated, false (the default) to
+     *                       leave updated rows where they are until the next sort
+     */
+    public void setSortsOnUpdates(boolean sortsOnUpdates) {
+        this.sortsOnUpdates = sortsOnUpdates;
+    }
+
+    public boolean getSortsOnUpdates() {
+        return sortsOnUpdates;
+    }
+
+    @Override
+    public void toggleSortOrder(int column) {
+        List<SortKey> keys = new ArrayList<>(sortKeys);
+        SortOrder order = SortOrder.ASCENDING;
+        for (int i = 0; i < keys.size(); i++) {
+            if (keys.get(i).getColumn() == column) {
+                if (i == 0 && keys.get(i).getSortOrder() == SortOrder.ASCENDING) {
+                    order = SortOrder.DESCENDING;
+                }
+                keys.remove(i);
+                break;
+            }
+        }
+        keys.add(0, new SortKey(column, order));
+        if (keys.size() > MAX_SORT_KEYS) {
+            keys = keys.subList(0, MAX_SORT_KEYS);
+        }
+        setSortKeys(keys);
+    }
+
+    @Override
+    public void setSortKeys(List<? extends SortKey> keys) {
+        List<SortKey> newKeys = keys == null
+            ? Collections.<SortKey>emptyList()
+            : Collections.unmodifiableList(new ArrayList<SortKey>(keys));
+        if (!newKeys.equals(sortKeys)) {
+            sortKeys = newKeys;
+            fireSortOrderChanged();
+            sort();
+        }
+    }
+
+    @Override
+    public List<? extends SortKey> getSortKeys() {
+        return sortKeys;
+    }
+
+    @Override
+    public int convertRowIndexToModel(int index) {
+        return viewToModel[index];
+    }
+
+    @Override
+    public int convertRowIndexToView(int index) {
+        return index < modelToView.length ? modelToView[index] : -1;
+    }
+
+    @Override
+    public int getViewRowCount() {
+        return viewToModel.length;
+    }
+
+    @Override
+    public int getModelRowCount() {
+        return model.getRowCount();
+    }
+
+    @Override
+    public void modelStructureChanged() {
+        if (!sortKeys.isEmpty()) {
+            sortKeys = Collections.emptyList();
+            fireSortOrderChanged();
+        }
+        sort();
+    }
+
+    @Override
+    public void allRowsChanged() {
+        sort();
+    }
+
+    @Override
+    public void rowsInserted(int firstRow, int endRow) {
+        sort();
+    }
+
+    @Override
+    public void rowsDeleted(int firstRow, int endRow) {
+        sort();
+    }
+
+    @Override
+    public void rowsUpdated(int firstRow, int endRow) {
+        if (sortsOnUpdates) {
+            sort();
+        }
+    }
+
+    @Override
+    public void rowsUpdated(int firstRow, int endRow, int column) {
+        if (sortsOnUpdates) {
+            sort();
+        }
+    }
+
+    /**
+     * Recompute the view: filter the model rows, then order them by the sort keys
+     */
+    private void sort() {
+        int[] previousViewToModel = viewToModel;
+        int rowCount = model.getRowCount();
+
+        int[] included = filterRows(rowCount);
+        List<SortKey> activeKeys = new ArrayList<>();
+        for (SortKey key : sortKeys) {
+            if (key.getSortOrder() != SortOrder.UNSORTED) {
+                activeKeys.add(key);
+            }
+        }
+
+        if (!activeKeys.isEmpty() && included.length > 1) {
+            // Reduce the sort keys to one int rank per model row, then sort (rank, row) pairs as plain longs
+            int[] ranks = null;
+            for (SortKey key : activeKeys) {
+                int[] keyRanks = rankColumn(key.getColumn(), rowCount);
+                if (key.getSortOrder() == SortOrder.DESCENDING) {
+                    int maxRank = max(keyRanks);
+                    for (int row = 0; row < rowCount; row++) {
+                        keyRanks[row] = maxRank - keyRanks[row];
+                    }
+                }
+                ranks = ranks == null ? keyRanks : combineRanks(ranks, keyRanks);
+            }
+
+            long[] packed = new long[included.length];
+            for (int i = 0; i < included.length; i++) {
+                // Row index in the low bits breaks ties, so equal rows keep their model order
+                packed[i] = ((long) ranks[included[i]] << 32) | included[i];
+            }
+            // Sorts sequentially below the fork/join granularity, in parallel above it
+            Arrays.parallelSort(packed);
+            for (int i = 0; i < packed.length; i++) {
+                included[i] = (int) packed[i];
+            }
+        }
+
+        viewToModel = included;
+        modelToView = new int[rowCount];
+        Arrays.fill(modelToView, -1);
+        for (int view = 0; view < viewToModel.length; view++) {
+            modelToView[viewToModel[view]] = view;
+        }
+
+        fireRowSorterChanged(previousViewToModel);
+    }
+
+    private int[] filterRows(int rowCount) {
+        if (rowFilter == null) {
+            int[] rows = new int[rowCount];
+            for (int i = 0; i < rowCount; i++) {
+                rows[i] = i;
+            }
+            return rows;
+        }
+
+        ModelEntry entry = new ModelEntry();
+        int[] rows = new int[rowCount];
+        int count = 0;
+        for (int i = 0; i < rowCount; i++) {
+            entry.row = i;
+            if (rowFilter.include(entry)) {
+                rows[count++] = i;
+            }
+        }
+        return Arrays.copyOf(rows, count);
+    }
+
+    /**
+     * Read a column once into primitive keys and rank the model rows by them.
+     * Null cells rank before all values.
+     * @return Dense rank of each model row, 0 for the smallest value
+     */
+    private int[] rankColumn(int column, int rowCount) {
+        Class<?> columnClass = model.getColumnClass(column);
+
+        if (BigDecimal.class.isAssignableFrom(columnClass)) {
+            long[] cents = new long[rowCount];
+            for (int row = 0; row < rowCount; row++) {
+                BigDecimal value = (BigDecimal) model.getValueAt(row, column);
+                cents[row] = value == null ? Long.MIN_VALUE
+                                           : value.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValue();
+            }
+            return denseRank(cents);
+        }
+
+        if (columnClass == Integer.class || columnClass == Long.class
+                || columnClass == Short.class || columnClass == Byte.class) {
+            long[] values = new long[rowCount];
+            for (int row = 0; row < rowCount; row++) {
+                Number value = (Number) model.getValueAt(row, column);
+                values[row] = value == null ? Long.MIN_VALUE : value.longValue();
+            }
+            return denseRank(values);
+        }
+
+        if (java.sql.Date.class.isAssignableFrom(columnClass)) {
+            long[] days = new long[rowCount];
+            for (int row = 0; row < rowCount; row++) {
+                java.sql.Date value = (java.sql.Date) model.getValueAt(row, column);
+                days[row] = value == null ? Long.MIN_VALUE : value.toLocalDate().toEpochDay();
+            }
+            return denseRank(days);
+        }
+
+        if (Date.class.isAssignableFrom(columnClass)) {
+            long[] millis = new long[rowCount];
+            for (int row = 0; row < rowCount; row++) {
+                Date value = (Date) model.getValueAt(row, column);
+                millis[row] = value == null ? Long.MIN_VALUE : value.getTime();
+            }
+            return denseRank(millis);
+        }
+
+        Object[] values = new Object[rowCount];
+        if (columnClass != String.class && Comparable.class.isAssignableFrom(columnClass)) {
+            for (int row = 0; row < rowCount; row++) {
+                values[row] = model.getValueAt(row, column);
+            }
+            return rankObjects(values, TypedRowSorter::compareNatural);
+        }
+
+        // Text is compared through collation keys, built once per cell rather than once per comparison
+        Collator collator = Collator.getInstance();
+        for (int row = 0; row < rowCount; row++) {
+            Object value = model.getValueAt(row, column);
+            values[row] = value != null ? collator.getCollationKey(value.toString()) : null;
+        }
+        return rankObjects(values, (a, b) -> ((CollationKey) a).compareTo((CollationKey) b));
+    }
+
+    /**
+     * @return Rank of each key among the distinct keys, in ascending order
+     */
+    private static int[] denseRank(long[] keys) {
+        long[] distinct = keys.clone();
+        Arrays.parallelSort(distinct);
+        int distinctCount = 0;
+        for (int i = 0; i < distinct.length; i++) {
+            if (i == 0 || distinct[i] != distinct[distinctCount - 1]) {
+                distinct[distinctCount++] = distinct[i];
+            }
+        }
+
+        int[] ranks = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            ranks[i] = Arrays.binarySearch(distinct, 0, distinctCount, keys[i]);
+        }
+        return ranks;
+    }
+
+    /**
+     * Rank values that have no primitive key, with nulls first
+     */
+    private static int[] rankObjects(Object[] values, Comparator<Object> comparator) {
+        Integer[] rows = new Integer[values.length];
+        for (int row = 0; row < values.length; row++) {
+            rows[row] = row;
+        }
+        Arrays.parallelSort(rows, (a, b) -> values[a] == null || values[b] == null
+            ? Boolean.compare(values[a] != null, values[b] != null)
+            : comparator.compare(values[a], values[b]));
+
+        int[] ranks = new int[values.length];
+        int rank = 0;
+        for (int i = 1; i < rows.length; i++) {
+            Object previous = values[rows[i - 1]];
+            Object current = values[rows[i]];
+            boolean equal = previous == null ? current == null
+                                             : current != null && comparator.compare(previous, current) == 0;
+            if (!equal) {
+                rank++;
+            }
+            ranks[rows[i]] = rank;
+        }
+        return ranks;
+    }
+
+    /**
+     * Rank rows by a primary rank, then by a secondary rank among rows with the same primary rank
+     */
+    private static int[] combineRanks(int[] primary, int[] secondary) {
+        long[] pairs = new long[primary.length];
+        for (int row = 0; row < primary.length; row++) {
+            pairs[row] = ((long) primary[row] << 32) | secondary[row];
+        }
+        return denseRank(pairs);
+    }
+
+    private static int max(int[] values) {
+        int max = 0;
+        for (int value : values) {
+            max = Math.max(max, value);
+        }
+        return max;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int compareNatural(Object a, Object b) {
+        return ((Comparable<Object>) a).compareTo(b);
+    }
+
+    /**
+     * Filter entry over one model row, reused for every row
+     */
+    private class ModelEntry extends RowFilter.Entry<M, Integer> {
+        private int row;
+
+        @Override
+        public M getModel() {
+            return model;
+        }
+
+        @Override
+        public int getValueCount() {
+            return model.getColumnCount();
+        }
+
+        @Override
+        public Object getValue(int index) {
+            return model.getValueAt(row, index);
+        }
+
+        @Override
+        public Integer getIdentifier() {
+            return row;
+        }
+    }
+}